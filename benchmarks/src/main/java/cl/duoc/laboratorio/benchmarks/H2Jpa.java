@@ -0,0 +1,53 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+
+/**
+ * Base de datos H2 en memoria en modo Oracle, con el mismo pool (Hikari) y las mismas
+ * opciones de lotes JDBC que los servicios. Hibernate crea el esquema a partir de las
+ * entidades de los paquetes indicados.
+ */
+final class H2Jpa implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final LocalContainerEntityManagerFactoryBean factoryBean;
+
+    H2Jpa(String databaseName, String... entityPackages) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + databaseName + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(entityPackages);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+            "hibernate.hbm2ddl.auto", "create",
+            "hibernate.jdbc.batch_size", "50",
+            "hibernate.order_inserts", "true"));
+        factoryBean.afterPropertiesSet();
+    }
+
+    EntityManagerFactory entityManagerFactory() {
+        return factoryBean.getObject();
+    }
+
+    JpaTransactionManager transactionManager() {
+        return new JpaTransactionManager(entityManagerFactory());
+    }
+
+    @Override
+    public void close() {
+        factoryBean.destroy();
+        dataSource.close();
+    }
+}
@@ -0,0 +1,34 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repositorio de Spring Data simulado con un proxy: responde solo los métodos indicados, por nombre,
+ * y falla con cualquier otro. Permite medir los servicios por su API pública sin base de datos.
+ */
+final class RepositoryStub {
+
+    private RepositoryStub() {
+    }
+
+    static <T> T of(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+            (proxy, method, args) -> {
+                Function<Object[], Object> answer = answers.get(method.getName());
+                if (answer != null) {
+                    return answer.apply(args);
+                }
+                if (method.getDeclaringClass() == Object.class) {
+                    return switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> repositoryType.getSimpleName() + " simulado";
+                    };
+                }
+                throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+            });
+        return repositoryType.cast(stub);
+    }
+}
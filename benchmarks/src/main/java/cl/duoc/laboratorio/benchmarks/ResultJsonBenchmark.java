@@ -0,0 +1,60 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de List&lt;ResultResponseDTO&gt; con un ObjectMapper configurado como el de
+ * Spring Boot (fechas ISO-8601), para una página del listado y una exportación grande.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultJsonBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ResultResponseDTO> results;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(new ResultResponseDTO((long) i, (long) (i % 100), (long) (i % 20), "Laboratorio " + (i % 20),
+                "Hemograma", "{\"hemoglobina\":13.5,\"leucocitos\":7200,\"plaquetas\":250000}", "COMPLETADO",
+                LocalDate.of(2025, 1, 1).plusDays(i % 365), 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeResults() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(results);
+    }
+}
@@ -0,0 +1,63 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import cl.duoc.laboratorio.results_service.dto.ResultRequestDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.model.Result;
+import cl.duoc.laboratorio.results_service.repository.LabRepository;
+import cl.duoc.laboratorio.results_service.repository.ResultRepository;
+import cl.duoc.laboratorio.results_service.service.LabCatalog;
+import cl.duoc.laboratorio.results_service.service.ResultService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultService.createResult sin base de datos: conversión de la solicitud a entidad, nombre del
+ * laboratorio desde LabCatalog (siempre en caché) y mapeo de la entidad al DTO de respuesta.
+ * El repositorio simulado devuelve la misma entidad que recibe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultMappingBenchmark {
+
+    private ResultService resultService;
+    private ResultRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        ResultRepository resultRepository = RepositoryStub.of(ResultRepository.class, Map.of(
+            "save", args -> {
+                Result result = (Result) args[0];
+                result.setId(1L);
+                return result;
+            }));
+        LabRepository labRepository = RepositoryStub.of(LabRepository.class, Map.of(
+            "findById", args -> Optional.of(new Lab((Long) args[0], "Laboratorio Central", 0L))));
+        resultService = new ResultService(resultRepository, new LabCatalog(labRepository, Duration.ofHours(1), 1000), null);
+        request = new ResultRequestDTO(3L, 1L, "Hemograma", "{\"hemoglobina\":13.5,\"leucocitos\":7200}",
+            "COMPLETADO", LocalDate.of(2025, 1, 15));
+    }
+
+    @Benchmark
+    public ResultResponseDTO createResult() {
+        return resultService.createResult(request);
+    }
+}
@@ -0,0 +1,118 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.model.Result;
+import cl.duoc.laboratorio.results_service.repository.ResultRepository;
+import cl.duoc.laboratorio.results_service.repository.ResultSearchRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de ResultRepository sobre H2 (modo Oracle): página keyset completa y resumida,
+ * resultados de un paciente y lectura por ID. Cada llamada corre en una transacción de solo
+ * lectura, como en ResultService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultRepositoryBenchmark {
+
+    private static final int LABS = 20;
+    private static final int PATIENTS = 500;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000"})
+    private int rows;
+
+    private H2Jpa h2;
+    private TransactionTemplate readOnly;
+    private ResultRepository repository;
+    private long middleId;
+    private long patientId;
+
+    @Setup
+    public void setUp() {
+        h2 = new H2Jpa("results", "cl.duoc.laboratorio.results_service.model");
+        TransactionTemplate writer = new TransactionTemplate(h2.transactionManager());
+        readOnly = new TransactionTemplate(h2.transactionManager());
+        readOnly.setReadOnly(true);
+
+        EntityManager sharedEntityManager = SharedEntityManagerCreator.createSharedEntityManager(h2.entityManagerFactory());
+        // Fuera de Spring el fragmento de búsqueda no se detecta solo: se registra su implementación
+        repository = new JpaRepositoryFactory(sharedEntityManager).getRepository(ResultRepository.class,
+            RepositoryFragments.just(new ResultSearchRepositoryImpl(sharedEntityManager)));
+
+        writer.executeWithoutResult(status -> seed(sharedEntityManager));
+        middleId = readOnly.execute(status -> repository.findResponsesAfterId(0L, Limit.of(rows / 2)))
+            .getLast().getId();
+        patientId = PATIENTS / 2;
+    }
+
+    private void seed(EntityManager entityManager) {
+        Long[] labIds = new Long[LABS];
+        for (int i = 0; i < LABS; i++) {
+            Lab lab = new Lab(null, "Laboratorio " + i, null);
+            entityManager.persist(lab);
+            labIds[i] = lab.getId();
+        }
+        String valueJson = "{\"hemoglobina\":13.5,\"leucocitos\":7200,\"plaquetas\":250000,\"observacion\":\"Sin hallazgos\"}";
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(new Result(null, (long) (i % PATIENTS), labIds[i % LABS], "Hemograma",
+                valueJson, "COMPLETADO", LocalDate.of(2025, 1, 1).plusDays(i % 365), null, null));
+            if (i % 50 == 49) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ResultResponseDTO> keysetPage() {
+        return readOnly.execute(status -> repository.findResponsesAfterId(middleId, Limit.of(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<ResultSummaryDTO> keysetSummaryPage() {
+        return readOnly.execute(status -> repository.findSummariesAfterId(middleId, Limit.of(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<ResultSummaryDTO> summariesByPatient() {
+        return readOnly.execute(status -> repository.findSummariesByUserId(patientId));
+    }
+
+    @Benchmark
+    public ResultResponseDTO responseById() {
+        return readOnly.execute(status -> repository.findResponseById(middleId).orElseThrow());
+    }
+
+    @TearDown
+    public void tearDown() {
+        h2.close();
+    }
+}
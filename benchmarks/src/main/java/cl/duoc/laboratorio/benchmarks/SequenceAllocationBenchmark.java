@@ -0,0 +1,86 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import cl.duoc.laboratorio.benchmarks.model.PooledSequenceRow;
+import cl.duoc.laboratorio.benchmarks.model.SingleSequenceRow;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserción de 500 filas por lotes JDBC de 50 con secuencias de allocationSize 50 (optimizador
+ * pooled, como las entidades de los servicios) y 1 (un NEXTVAL por fila). En H2 cada NEXTVAL es
+ * una llamada local; contra Oracle Cloud cada uno suma además un viaje de red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SequenceAllocationBenchmark {
+
+    private static final int ROWS = 500;
+    private static final int BATCH_SIZE = 50;
+
+    private H2Jpa h2;
+    private TransactionTemplate transaction;
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        h2 = new H2Jpa("sequences", "cl.duoc.laboratorio.benchmarks.model");
+        transaction = new TransactionTemplate(h2.transactionManager());
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(h2.entityManagerFactory());
+    }
+
+    @Benchmark
+    public void allocationSize50() {
+        insert(() -> new PooledSequenceRow(null, "fila"));
+    }
+
+    @Benchmark
+    public void allocationSize1() {
+        insert(() -> new SingleSequenceRow(null, "fila"));
+    }
+
+    private void insert(Supplier<Object> rowFactory) {
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(rowFactory.get());
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    // Las tablas se vacían entre iteraciones para que su tamaño no influya en la medición
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        transaction.executeWithoutResult(status -> {
+            entityManager.createQuery("delete from PooledSequenceRow").executeUpdate();
+            entityManager.createQuery("delete from SingleSequenceRow").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        h2.close();
+    }
+}
@@ -0,0 +1,65 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import cl.duoc.laboratorio.user_service.dto.UserResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.UserRowDTO;
+import cl.duoc.laboratorio.user_service.model.Role;
+import cl.duoc.laboratorio.user_service.model.User;
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import cl.duoc.laboratorio.user_service.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo de UserService a UserResponseDTO en sus dos variantes, medido por la API pública con un
+ * repositorio simulado: getUserById (entidad User) y getAllUsers (una proyección UserRowDTO).
+ * Incluye el fullName.split que separa nombre y apellido, con nombres de distinta forma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    @Param({"Ana", "Ana Pérez", "María José Pérez González"})
+    private String fullName;
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        User user = new User(1L, "paciente@laboratorios.cl", "hash", fullName, 0L, Set.of(new Role(4L, "PACIENTE")));
+        UserRowDTO row = new UserRowDTO(1L, "paciente@laboratorios.cl", fullName, "PACIENTE", 0L);
+        UserRepository userRepository = RepositoryStub.of(UserRepository.class, Map.of(
+            "findById", args -> Optional.of(user),
+            "findAllRows", args -> List.of(row)));
+        // Las demás dependencias no participan en estas lecturas
+        userService = new UserService(userRepository, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public UserResponseDTO mapEntity() {
+        return userService.getUserById(1L);
+    }
+
+    @Benchmark
+    public List<UserResponseDTO> mapRow() {
+        return userService.getAllUsers();
+    }
+}
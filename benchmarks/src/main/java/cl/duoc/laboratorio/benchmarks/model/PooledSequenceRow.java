@@ -0,0 +1,24 @@
+package cl.duoc.laboratorio.benchmarks.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "BENCH_POOLED")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PooledSequenceRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_seq")
+    // Igual que las entidades de los servicios: un NEXTVAL reserva un bloque de 50 IDs
+    @SequenceGenerator(name = "pooled_seq", sequenceName = "BENCH_POOLED_SEQ", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "PAYLOAD", length = 100)
+    private String payload;
+}
@@ -0,0 +1,24 @@
+package cl.duoc.laboratorio.benchmarks.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "BENCH_SINGLE")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SingleSequenceRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "single_seq")
+    // Asignación de a uno: un NEXTVAL por cada fila insertada
+    @SequenceGenerator(name = "single_seq", sequenceName = "BENCH_SINGLE_SEQ", allocationSize = 1)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "PAYLOAD", length = 100)
+    private String payload;
+}
@@ -0,0 +1,43 @@
+package cl.duoc.laboratorio.benchmarks;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ejecución de humo de todos los benchmarks (equivale a -f 0 -wi 0 -i 1): no mide nada, pero
+ * falla si un @Setup o un @Benchmark deja de funcionar, por ejemplo tras cambiar la firma
+ * de un repositorio o de un servicio.
+ */
+class BenchmarkSmokeTest {
+
+    @Test
+    @DisplayName("Benchmarks - Todos ejecutan una iteración sin errores")
+    void testAllBenchmarksRun() throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include("cl\\.duoc\\.laboratorio\\..*Benchmark")
+            .forks(0)
+            .warmupIterations(0)
+            .measurementIterations(1)
+            .measurementTime(TimeValue.milliseconds(100))
+            .shouldFailOnError(true)
+            .verbosity(VerboseMode.SILENT)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+        results.forEach(result -> assertTrue(result.getPrimaryResult().getSampleCount() > 0,
+            () -> "Sin muestras: " + result.getParams().getBenchmark()));
+    }
+}
@@ -80,6 +80,7 @@ export class Labs implements OnInit {
 
       if (this.editingLab) {
         labData.id = this.editingLab.id;
+        labData.version = this.editingLab.version;
         this.labService.update(labData.id, labData).subscribe({
           next: () => {
             this.loadLabs();
@@ -121,7 +121,8 @@ export class Results implements OnInit {
         testType: formData.testType,
         result: formData.result,
         date: formData.date,
-        notes: formData.notes
+        notes: formData.notes,
+        version: this.editingResult?.version
       };
 
       if (this.editingResult) {
@@ -97,6 +97,7 @@ export class Users implements OnInit {
 
       if (this.editingUser) {
         userData.id = this.editingUser.id;
+        userData.version = this.editingUser.version;
         this.userService.update(userData.id, userData).subscribe({
           next: () => {
             this.loadUsers();
@@ -1,4 +1,5 @@
 export interface Lab {
   id: number;
   name: string;
+  version?: number;
 }
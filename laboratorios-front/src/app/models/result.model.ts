@@ -8,4 +8,5 @@ export interface Result {
   result: string;
   date: string;
   notes?: string;
+  version?: number;
 }
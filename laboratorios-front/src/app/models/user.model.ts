@@ -9,4 +9,5 @@ export interface User {
   direccion: string;
   fechaNacimiento: string;
   rol: 'ADMINISTRADOR' | 'MEDICO' | 'PACIENTE' | 'LABORATORISTA';
+  version?: number;
 }
@@ -71,7 +71,9 @@ export class AuthService {
   }
 
   updateProfile(updatedUser: User): Observable<boolean> {
-    return this.http.put<User>(`${API_CONFIG.userService}/${updatedUser.id}`, updatedUser)
+    // La versión viene del login o de la última actualización; sin If-Match el backend responde 428
+    const headers = { 'If-Match': `"${updatedUser.id}-${updatedUser.version}"` };
+    return this.http.put<User>(`${API_CONFIG.userService}/${updatedUser.id}`, updatedUser, { headers })
       .pipe(
         map(response => {
           if (response && this.currentUserSubject.value?.id === updatedUser.id) {
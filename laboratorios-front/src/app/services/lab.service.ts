@@ -43,7 +43,8 @@ export class LabService {
   }
 
   update(id: number, lab: Lab): Observable<Lab> {
-    return this.http.put<Lab>(`${API_CONFIG.labsService}/${id}`, lab)
+    // If-Match es obligatorio: el backend rechaza con 412 si otro usuario modificó el laboratorio
+    return this.http.put<Lab>(`${API_CONFIG.labsService}/${id}`, lab, { headers: { 'If-Match': `"${id}-${lab.version}"` } })
       .pipe(
         catchError(error => {
           console.error('Error al actualizar laboratorio:', error);
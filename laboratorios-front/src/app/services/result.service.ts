@@ -53,7 +53,8 @@ export class ResultService {
   }
 
   update(id: number, result: Result): Observable<Result> {
-    return this.http.put<Result>(`${API_CONFIG.resultsService}/${id}`, result)
+    // If-Match es obligatorio: el backend rechaza con 412 si otro usuario modificó el resultado
+    return this.http.put<Result>(`${API_CONFIG.resultsService}/${id}`, result, { headers: { 'If-Match': `"${id}-${result.version}"` } })
       .pipe(
         catchError(error => {
           console.error('Error al actualizar resultado:', error);
@@ -43,7 +43,8 @@ export class UserService {
   }
 
   update(id: number, user: User): Observable<User> {
-    return this.http.put<User>(`${API_CONFIG.userService}/${id}`, user)
+    // If-Match es obligatorio: el backend rechaza con 412 si otro usuario modificó el registro
+    return this.http.put<User>(`${API_CONFIG.userService}/${id}`, user, { headers: { 'If-Match': `"${id}-${user.version}"` } })
       .pipe(
         catchError(error => {
           console.error('Error al actualizar usuario:', error);
@@ -0,0 +1,80 @@
+#set( $symbol_dollar = '$' )
+package ${package}.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de pinning con hilos virtuales activos (spring.threads.virtual.enabled=true).
+ * Escucha el evento JFR jdk.VirtualThreadPinned, que se emite cuando un hilo virtual se bloquea
+ * sin poder liberar su carrier (por ejemplo, E/S de JDBC dentro de un bloque synchronized),
+ * y registra la pila para ubicar el punto exacto.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${symbol_dollar}{threads.virtual.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Hilos virtuales activos; se registrarán los bloqueos fijados al carrier de más de {} ms",
+            threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long total = pinnedCount.incrementAndGet();
+        log.warn("Hilo virtual fijado a su carrier durante {} ms (total {}): {}",
+            event.getDuration().toMillis(), total, describe(event.getStackTrace()));
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "sin pila";
+        }
+        return stackTrace.getFrames().stream()
+            .filter(RecordedFrame::isJavaFrame)
+            .limit(LOGGED_FRAMES)
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber())
+            .collect(Collectors.joining(" <- "));
+    }
+
+    long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
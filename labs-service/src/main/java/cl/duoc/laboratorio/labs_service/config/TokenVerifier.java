@@ -0,0 +1,84 @@
+package cl.duoc.laboratorio.labs_service.config;
+
+import cl.duoc.laboratorio.labs_service.exception.UnauthorizedException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Valida los tokens de sesión que emite user-service (HMAC-SHA256).
+ * Solo verifica firma y expiración en memoria, sin llamar a user-service ni a la base de datos.
+ * La revocación por logout vive en user-service; aquí el token vale hasta que expira.
+ */
+final class TokenVerifier {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final int PAYLOAD_PARTS = 5;
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    TokenVerifier(String secret, Clock clock) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("auth.token.secret debe tener al menos " + MIN_SECRET_LENGTH + " bytes");
+        }
+        this.key = new SecretKeySpec(bytes, HMAC_ALGORITHM);
+        this.clock = clock;
+    }
+
+    TokenClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new UnauthorizedException("Token no informado");
+        }
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        String encodedPayload = token.substring(0, separator);
+        byte[] signature;
+        String[] parts;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            parts = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8)
+                .split("\\|", PAYLOAD_PARTS);
+        } catch (IllegalArgumentException ex) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        if (!MessageDigest.isEqual(sign(encodedPayload), signature) || parts.length != PAYLOAD_PARTS) {
+            throw new UnauthorizedException("Token inválido");
+        }
+
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(parts[0], Long.parseLong(parts[1]), parts[4], parts[2],
+                Instant.ofEpochSecond(Long.parseLong(parts[3])));
+        } catch (NumberFormatException ex) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        if (!clock.instant().isBefore(claims.expiresAt())) {
+            throw new UnauthorizedException("Token expirado");
+        }
+        return claims;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo validar el token", ex);
+        }
+    }
+
+    record TokenClaims(String tokenId, Long userId, String email, String role, Instant expiresAt) {
+    }
+}
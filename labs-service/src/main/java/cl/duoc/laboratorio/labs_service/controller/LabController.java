@@ -2,14 +2,19 @@ package cl.duoc.laboratorio.labs_service.controller;
 
 import cl.duoc.laboratorio.labs_service.dto.LabRequestDTO;
 import cl.duoc.laboratorio.labs_service.dto.LabResponseDTO;
+import cl.duoc.laboratorio.labs_service.service.EntityTag;
 import cl.duoc.laboratorio.labs_service.service.LabService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/labs")
@@ -25,22 +30,38 @@ public class LabController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LabResponseDTO> getLabById(@PathVariable Long id) {
+    public ResponseEntity<LabResponseDTO> getLabById(@PathVariable Long id, WebRequest request, HttpServletResponse response) {
+        Optional<String> etag = labService.getLabEtag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+        // checkNotModified ya escribió el ETag de la consulta de versión; se reemplaza por el de la fila
+        // devuelta, así ETag y cuerpo coinciden aunque el registro haya cambiado entre ambas lecturas
         LabResponseDTO lab = labService.getLabById(id);
+        response.setHeader(HttpHeaders.ETAG, EntityTag.format(id, lab.getVersion()));
         return ResponseEntity.ok(lab);
     }
 
     @GetMapping
-    public ResponseEntity<List<LabResponseDTO>> getAllLabs() {
+    public ResponseEntity<List<LabResponseDTO>> getAllLabs(WebRequest request) {
+        // El ETag se calcula antes que la lista: si cambia entre ambas lecturas, el cliente solo vuelve a descargar
+        String etag = labService.getLabsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<LabResponseDTO> labs = labService.getAllLabs();
-        return ResponseEntity.ok(labs);
+        return ResponseEntity.ok().eTag(etag).body(labs);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<LabResponseDTO> updateLab(@PathVariable Long id,
-                                                     @Valid @RequestBody LabRequestDTO labRequestDTO) {
-        LabResponseDTO updated = labService.updateLab(id, labRequestDTO);
-        return ResponseEntity.ok(updated);
+                                                     @Valid @RequestBody LabRequestDTO labRequestDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Sin If-Match responde 428: el UPDATE siempre compara la versión
+        long expectedVersion = EntityTag.expectedVersion(id, ifMatch);
+        LabResponseDTO updated = labService.updateLab(id, labRequestDTO, expectedVersion);
+        // La nueva versión es conocida sin releer la fila
+        return ResponseEntity.ok().eTag(EntityTag.format(id, updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -10,4 +10,6 @@ import lombok.NoArgsConstructor;
 public class LabResponseDTO {
     private Long id;
     private String name;
+    // Versión de la fila: la misma que forma el ETag "id-versión"
+    private Long version;
 }
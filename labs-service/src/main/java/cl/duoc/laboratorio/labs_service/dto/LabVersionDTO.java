@@ -0,0 +1,14 @@
+package cl.duoc.laboratorio.labs_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Par (id, versión) de un laboratorio; con ellos se calcula el ETag de GET /api/labs
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabVersionDTO {
+    private Long id;
+    private Long version;
+}
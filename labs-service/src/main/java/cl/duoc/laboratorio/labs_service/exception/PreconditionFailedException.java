@@ -0,0 +1,8 @@
+package cl.duoc.laboratorio.labs_service.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package cl.duoc.laboratorio.labs_service.exception;
+
+public class PreconditionRequiredException extends RuntimeException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
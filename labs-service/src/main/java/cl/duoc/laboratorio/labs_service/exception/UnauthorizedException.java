@@ -0,0 +1,8 @@
+package cl.duoc.laboratorio.labs_service.exception;
+
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
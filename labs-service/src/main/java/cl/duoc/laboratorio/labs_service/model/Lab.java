@@ -14,10 +14,16 @@ public class Lab {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "labs_seq")
-    @SequenceGenerator(name = "labs_seq", sequenceName = "LABS_SEQ", allocationSize = 1)
+    // LABS_SEQ incrementa de a 50: un NEXTVAL reserva un bloque de IDs (optimizador pooled)
+    @SequenceGenerator(name = "labs_seq", sequenceName = "LABS_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
     @Column(name = "NAME", nullable = false, length = 100)
     private String name;
+
+    // Se incrementa en cada UPDATE; forma parte del ETag de GET /api/labs
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,47 @@
+package cl.duoc.laboratorio.labs_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de laboratorio (outbox transaccional).
+ * Se escribe en la misma transacción que el cambio en LABS y otros servicios
+ * lo leen para invalidar sus cachés.
+ */
+@Entity
+@Table(name = "LAB_EVENTS")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lab_events_seq")
+    // Sin bloques de IDs: results-service lee los eventos por ID creciente y con bloques
+    // por instancia un ID menor podría confirmarse después de que el lector ya avanzó
+    @SequenceGenerator(name = "lab_events_seq", sequenceName = "LAB_EVENTS_SEQ", allocationSize = 1)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "LAB_ID", nullable = false)
+    private Long labId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EVENT_TYPE", nullable = false, length = 20)
+    private LabEventType eventType;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static LabEvent of(Long labId, LabEventType eventType) {
+        LabEvent event = new LabEvent();
+        event.setLabId(labId);
+        event.setEventType(eventType);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
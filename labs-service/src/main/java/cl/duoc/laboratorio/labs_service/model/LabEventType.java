@@ -0,0 +1,7 @@
+package cl.duoc.laboratorio.labs_service.model;
+
+public enum LabEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,18 @@
+package cl.duoc.laboratorio.labs_service.repository;
+
+import cl.duoc.laboratorio.labs_service.model.LabEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LabEventRepository extends JpaRepository<LabEvent, Long> {
+
+    @Modifying
+    @Query("delete from LabEvent e where e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
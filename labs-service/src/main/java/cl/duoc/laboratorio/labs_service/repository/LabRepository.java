@@ -1,13 +1,38 @@
 package cl.duoc.laboratorio.labs_service.repository;
 
+import cl.duoc.laboratorio.labs_service.dto.LabVersionDTO;
 import cl.duoc.laboratorio.labs_service.model.Lab;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LabRepository extends JpaRepository<Lab, Long> {
     Optional<Lab> findByName(String name);
     boolean existsByName(String name);
+    boolean existsByNameAndIdNot(String name, Long id);
+
+    @Query("select l.version from Lab l where l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * UPDATE directo, sin SELECT previo, solo cuando la versión coincide.
+     * Retorna las filas modificadas (0 o 1).
+     */
+    @Modifying
+    @Query("update Lab l set l.name = :name, l.version = l.version + 1 "
+        + "where l.id = :id and l.version = :version")
+    int updateName(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+
+    /**
+     * Pares (id, versión) de todos los laboratorios, ordenados por ID, para el ETag de la colección.
+     * Solo lee dos columnas numéricas: LABS es una tabla pequeña.
+     */
+    @Query("select new cl.duoc.laboratorio.labs_service.dto.LabVersionDTO(l.id, l.version) from Lab l order by l.id")
+    List<LabVersionDTO> findAllVersions();
 }
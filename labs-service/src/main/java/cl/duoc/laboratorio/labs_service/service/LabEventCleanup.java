@@ -0,0 +1,34 @@
+package cl.duoc.laboratorio.labs_service.service;
+
+import cl.duoc.laboratorio.labs_service.repository.LabEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purga periódica de LAB_EVENTS. Los consumidores solo necesitan los eventos
+ * recientes, así que la tabla se mantiene acotada.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LabEventCleanup {
+
+    private final LabEventRepository labEventRepository;
+
+    @Value("${labs.events.retention:7d}")
+    private Duration retention;
+
+    @Scheduled(cron = "${labs.events.cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeOldEvents() {
+        int deleted = labEventRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        log.info("Eventos de laboratorio purgados: {}", deleted);
+    }
+}
@@ -2,14 +2,20 @@ package cl.duoc.laboratorio.labs_service.service;
 
 import cl.duoc.laboratorio.labs_service.dto.LabRequestDTO;
 import cl.duoc.laboratorio.labs_service.dto.LabResponseDTO;
+import cl.duoc.laboratorio.labs_service.dto.LabVersionDTO;
+import cl.duoc.laboratorio.labs_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.labs_service.exception.ResourceNotFoundException;
 import cl.duoc.laboratorio.labs_service.model.Lab;
+import cl.duoc.laboratorio.labs_service.model.LabEvent;
+import cl.duoc.laboratorio.labs_service.model.LabEventType;
+import cl.duoc.laboratorio.labs_service.repository.LabEventRepository;
 import cl.duoc.laboratorio.labs_service.repository.LabRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +23,7 @@ import java.util.stream.Collectors;
 public class LabService {
 
     private final LabRepository labRepository;
+    private final LabEventRepository labEventRepository;
 
     @Transactional
     public LabResponseDTO createLab(LabRequestDTO labRequestDTO) {
@@ -28,6 +35,7 @@ public class LabService {
         lab.setName(labRequestDTO.getName());
 
         Lab savedLab = labRepository.save(lab);
+        labEventRepository.save(LabEvent.of(savedLab.getId(), LabEventType.CREATED));
         return mapToResponseDTO(savedLab);
     }
 
@@ -45,19 +53,37 @@ public class LabService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    public LabResponseDTO updateLab(Long id, LabRequestDTO labRequestDTO) {
-        Lab lab = labRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con ID: " + id));
+    /**
+     * ETag de GET /api/labs. Solo consulta los pares (id, versión), no los laboratorios completos.
+     */
+    @Transactional(readOnly = true)
+    public String getLabsEtag() {
+        return EntityTag.ofCollection(labRepository.findAllVersions(), LabVersionDTO::getId, LabVersionDTO::getVersion);
+    }
 
-        if (labRepository.existsByName(labRequestDTO.getName()) &&
-            !lab.getName().equals(labRequestDTO.getName())) {
+    @Transactional(readOnly = true)
+    public Optional<String> getLabEtag(Long id) {
+        return labRepository.findVersionById(id).map(version -> EntityTag.format(id, version));
+    }
+
+    /**
+     * Actualiza con un UPDATE directo. expectedVersion viene de If-Match.
+     */
+    @Transactional
+    public LabResponseDTO updateLab(Long id, LabRequestDTO labRequestDTO, long expectedVersion) {
+        if (labRepository.existsByNameAndIdNot(labRequestDTO.getName(), id)) {
             throw new IllegalArgumentException("Ya existe un laboratorio con el nombre: " + labRequestDTO.getName());
         }
 
-        lab.setName(labRequestDTO.getName());
-        Lab updatedLab = labRepository.save(lab);
-        return mapToResponseDTO(updatedLab);
+        if (labRepository.updateName(id, labRequestDTO.getName(), expectedVersion) == 0) {
+            // Solo en el caso de falla se consulta si el laboratorio existe
+            if (labRepository.existsById(id)) {
+                throw new PreconditionFailedException("El laboratorio " + id + " fue modificado: la versión no coincide con If-Match");
+            }
+            throw new ResourceNotFoundException("Laboratorio no encontrado con ID: " + id);
+        }
+        labEventRepository.save(LabEvent.of(id, LabEventType.UPDATED));
+        return new LabResponseDTO(id, labRequestDTO.getName(), expectedVersion + 1);
     }
 
     @Transactional
@@ -65,9 +91,10 @@ public class LabService {
         Lab lab = labRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con ID: " + id));
         labRepository.delete(lab);
+        labEventRepository.save(LabEvent.of(id, LabEventType.DELETED));
     }
 
     private LabResponseDTO mapToResponseDTO(Lab lab) {
-        return new LabResponseDTO(lab.getId(), lab.getName());
+        return new LabResponseDTO(lab.getId(), lab.getName(), lab.getVersion());
     }
 }
@@ -0,0 +1,14 @@
+-- Outbox de cambios de laboratorios
+-- labs-service escribe un evento por cada alta, edición o eliminación en LABS
+-- dentro de la misma transacción; results-service lo consulta para invalidar su caché.
+
+CREATE TABLE LAB_EVENTS (
+    ID NUMBER(19) PRIMARY KEY,
+    LAB_ID NUMBER(19) NOT NULL,
+    EVENT_TYPE VARCHAR2(20) NOT NULL,
+    CREATED_AT TIMESTAMP NOT NULL
+);
+
+CREATE SEQUENCE LAB_EVENTS_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE INDEX IDX_LAB_EVENTS_CREATED_AT ON LAB_EVENTS (CREATED_AT);
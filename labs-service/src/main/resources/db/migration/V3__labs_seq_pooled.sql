@@ -0,0 +1,7 @@
+-- LABS_SEQ pasa a incrementar de a 50
+-- Lab usa allocationSize = 50 (optimizador pooled) en labs-service y en results-service,
+-- que comparten la tabla LABS. Debe aplicarse antes de desplegar cualquiera de los dos:
+-- Hibernate valida que el incremento coincida con allocationSize.
+-- LAB_EVENTS_SEQ se mantiene en 1 para que los IDs del outbox sigan el orden de escritura.
+
+ALTER SEQUENCE LABS_SEQ INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Columna VERSION para control optimista y ETag de laboratorios
+-- Lab usa @Version en labs-service y en results-service: cada UPDATE incrementa la versión.
+-- GET /api/labs y GET /api/results/labs derivan su ETag de COUNT, MAX(ID) y SUM(VERSION).
+-- Debe aplicarse antes de desplegar cualquiera de los dos servicios.
+
+ALTER TABLE LABS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,85 @@
+package cl.duoc.laboratorio.labs_service.config;
+
+import cl.duoc.laboratorio.labs_service.exception.UnauthorizedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TokenAuthInterceptor
+ * Cobertura: tokens de user-service válidos, alterados y expirados + modo desactivado
+ */
+class TokenAuthInterceptorTest {
+
+    private static final String SECRET = "secreto-de-pruebas-con-al-menos-32-bytes";
+
+    private final TokenAuthInterceptor interceptor = new TokenAuthInterceptor(SECRET, true);
+
+    @Test
+    @DisplayName("Token válido - Deja pasar y publica los datos del usuario")
+    void testPreHandle_ValidToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = requestWithToken(token(SECRET, Instant.now().plusSeconds(3600)));
+
+        // When
+        boolean allowed = interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        // Then
+        assertTrue(allowed);
+        TokenVerifier.TokenClaims claims = (TokenVerifier.TokenClaims) request.getAttribute(TokenAuthInterceptor.CLAIMS_ATTRIBUTE);
+        assertEquals(1L, claims.userId());
+        assertEquals("MEDICO", claims.role());
+        assertEquals("test@example.com", claims.email());
+    }
+
+    @Test
+    @DisplayName("Token inválido, expirado o ausente - 401")
+    void testPreHandle_Rejected() throws Exception {
+        // Given
+        String otherSecret = token("otro-secreto-de-pruebas-de-32-bytes!!", Instant.now().plusSeconds(3600));
+        String expired = token(SECRET, Instant.now().minusSeconds(1));
+
+        // When & Then
+        assertThrows(UnauthorizedException.class,
+            () -> interceptor.preHandle(requestWithToken(otherSecret), new MockHttpServletResponse(), new Object()));
+        assertThrows(UnauthorizedException.class,
+            () -> interceptor.preHandle(requestWithToken(expired), new MockHttpServletResponse(), new Object()));
+        assertThrows(UnauthorizedException.class,
+            () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/api"), new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    @DisplayName("Validación desactivada - No exige token ni secreto")
+    void testPreHandle_Disabled() throws Exception {
+        // Given
+        TokenAuthInterceptor disabled = new TokenAuthInterceptor("", false);
+
+        // When & Then
+        assertTrue(disabled.preHandle(new MockHttpServletRequest("GET", "/api"), new MockHttpServletResponse(), new Object()));
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    // Mismo formato que emite TokenService en user-service
+    private String token(String secret, Instant expiresAt) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = encoder.encodeToString(("id-1|1|MEDICO|" + expiresAt.getEpochSecond() + "|test@example.com")
+            .getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return payload + "." + encoder.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,61 @@
+package cl.duoc.laboratorio.labs_service.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para VirtualThreadPinningMonitor
+ * Cobertura: detección de pinning con synchronized y ausencia de eventos con ReentrantLock
+ */
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    @DisplayName("Pinning - Solo el bloqueo dentro de synchronized se registra")
+    void testDetectsPinnedVirtualThread() throws Exception {
+        // Given
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        monitor.start();
+        try {
+            ReentrantLock lock = new ReentrantLock();
+            Object monitorLock = new Object();
+
+            // When
+            Thread.ofVirtual().start(() -> {
+                lock.lock();
+                try {
+                    sleep(100);
+                } finally {
+                    lock.unlock();
+                }
+            }).join();
+            Thread.ofVirtual().start(() -> {
+                synchronized (monitorLock) {
+                    sleep(100);
+                }
+            }).join();
+
+            // Then
+            // JFR entrega los eventos por lotes, aproximadamente una vez por segundo
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (monitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, monitor.getPinnedCount());
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package cl.duoc.laboratorio.labs_service.controller;
 
 import cl.duoc.laboratorio.labs_service.dto.LabRequestDTO;
 import cl.duoc.laboratorio.labs_service.dto.LabResponseDTO;
+import cl.duoc.laboratorio.labs_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.labs_service.exception.ResourceNotFoundException;
+import cl.duoc.laboratorio.labs_service.model.Lab;
 import cl.duoc.laboratorio.labs_service.service.LabService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +14,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -48,7 +52,7 @@ class LabControllerTest {
         labRequestDTO.setName("Laboratorio Central");
 
         // Setup response DTO
-        labResponseDTO = new LabResponseDTO(1L, "Laboratorio Central");
+        labResponseDTO = new LabResponseDTO(1L, "Laboratorio Central", 0L);
     }
 
     @Test
@@ -89,16 +93,33 @@ class LabControllerTest {
     void testGetLabById_Success() throws Exception {
         // Given
         when(labService.getLabById(1L)).thenReturn(labResponseDTO);
+        when(labService.getLabEtag(1L)).thenReturn(Optional.of("\"1-0\""));
 
         // When & Then
         mockMvc.perform(get("/api/labs/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Laboratorio Central"));
 
         verify(labService, times(1)).getLabById(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/labs/{id} - El ETag corresponde a la fila devuelta, no a la consulta de versión")
+    void testGetLabById_EtagFollowsBody() throws Exception {
+        // Given: el laboratorio se modificó entre la consulta de versión y la lectura del cuerpo
+        when(labService.getLabEtag(1L)).thenReturn(Optional.of("\"1-0\""));
+        when(labService.getLabById(1L)).thenReturn(new LabResponseDTO(1L, "Laboratorio Renombrado", 1L));
+
+        // When & Then
+        mockMvc.perform(get("/api/labs/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.name").value("Laboratorio Renombrado"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/labs/{id} - Laboratorio no encontrado (404)")
     void testGetLabById_NotFound() throws Exception {
@@ -117,13 +138,15 @@ class LabControllerTest {
     @DisplayName("GET /api/labs - Obtener todos los laboratorios")
     void testGetAllLabs_Success() throws Exception {
         // Given
-        LabResponseDTO lab2 = new LabResponseDTO(2L, "Laboratorio Norte");
+        LabResponseDTO lab2 = new LabResponseDTO(2L, "Laboratorio Norte", 0L);
         List<LabResponseDTO> labs = Arrays.asList(labResponseDTO, lab2);
         when(labService.getAllLabs()).thenReturn(labs);
+        when(labService.getLabsEtag()).thenReturn("\"2-8674cec79a826b64\"");
 
         // When & Then
         mockMvc.perform(get("/api/labs"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-8674cec79a826b64\""))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("Laboratorio Central"))
                 .andExpect(jsonPath("$[1].id").value(2))
@@ -132,38 +155,147 @@ class LabControllerTest {
         verify(labService, times(1)).getAllLabs();
     }
 
+    @Test
+    @DisplayName("GET /api/labs - If-None-Match vigente responde 304 sin cargar la lista")
+    void testGetAllLabs_NotModified() throws Exception {
+        // Given
+        when(labService.getLabsEtag()).thenReturn("\"2-8674cec79a826b64\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/labs").header("If-None-Match", "\"2-8674cec79a826b64\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2-8674cec79a826b64\""))
+                .andExpect(content().string(""));
+
+        verify(labService, never()).getAllLabs();
+    }
+
+    @Test
+    @DisplayName("GET /api/labs - If-None-Match obsoleto responde 200 con el nuevo ETag")
+    void testGetAllLabs_EtagChanged() throws Exception {
+        // Given
+        when(labService.getLabsEtag()).thenReturn("\"3-5d0e2f4a91c3b7e8\"");
+        when(labService.getAllLabs()).thenReturn(List.of(labResponseDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/labs").header("If-None-Match", "\"2-8674cec79a826b64\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-5d0e2f4a91c3b7e8\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     @DisplayName("PUT /api/labs/{id} - Actualizar laboratorio exitoso")
     void testUpdateLab_Success() throws Exception {
         // Given
-        LabResponseDTO updatedLab = new LabResponseDTO(1L, "Laboratorio Actualizado");
-        when(labService.updateLab(eq(1L), any(LabRequestDTO.class))).thenReturn(updatedLab);
+        LabResponseDTO updatedLab = new LabResponseDTO(1L, "Laboratorio Actualizado", 1L);
+        when(labService.updateLab(eq(1L), any(LabRequestDTO.class), eq(0L))).thenReturn(updatedLab);
 
         // When & Then
         mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "\"1-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(labRequestDTO)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Laboratorio Actualizado"));
 
-        verify(labService, times(1)).updateLab(eq(1L), any(LabRequestDTO.class));
+        verify(labService, times(1)).updateLab(eq(1L), any(LabRequestDTO.class), eq(0L));
     }
 
     @Test
     @DisplayName("PUT /api/labs/{id} - Laboratorio no encontrado (404)")
     void testUpdateLab_NotFound() throws Exception {
         // Given
-        when(labService.updateLab(eq(999L), any(LabRequestDTO.class)))
+        when(labService.updateLab(eq(999L), any(LabRequestDTO.class), eq(0L)))
             .thenThrow(new ResourceNotFoundException("Laboratorio no encontrado con ID: 999"));
 
         // When & Then
         mockMvc.perform(put("/api/labs/999")
+                .header("If-Match", "\"999-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(labRequestDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(labService, times(1)).updateLab(eq(999L), any(LabRequestDTO.class));
+        verify(labService, times(1)).updateLab(eq(999L), any(LabRequestDTO.class), eq(0L));
+    }
+
+    @Test
+    @DisplayName("PUT /api/labs/{id} - If-Match vigente devuelve el nuevo ETag")
+    void testUpdateLab_IfMatch() throws Exception {
+        // Given
+        LabResponseDTO updatedLab = new LabResponseDTO(1L, "Laboratorio Actualizado", 4L);
+        when(labService.updateLab(eq(1L), any(LabRequestDTO.class), eq(3L))).thenReturn(updatedLab);
+
+        // When & Then
+        mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/labs/{id} - Versión obsoleta (412)")
+    void testUpdateLab_PreconditionFailed() throws Exception {
+        // Given
+        when(labService.updateLab(eq(1L), any(LabRequestDTO.class), eq(2L)))
+            .thenThrow(new PreconditionFailedException("El laboratorio 1 fue modificado: la versión no coincide con If-Match"));
+
+        // When & Then
+        mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("PUT /api/labs/{id} - If-Match de otro recurso (412)")
+    void testUpdateLab_IfMatchOtherResource() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "\"7-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(labService, never()).updateLab(anyLong(), any(LabRequestDTO.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("PUT /api/labs/{id} - Sin If-Match no sobrescribe una versión más nueva (428)")
+    void testUpdateLab_WithoutIfMatch() throws Exception {
+        // When & Then: ni sin encabezado ni con "*" llega a ejecutarse el UPDATE
+        mockMvc.perform(put("/api/labs/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value(428));
+        mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(labService, never()).updateLab(anyLong(), any(LabRequestDTO.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("PUT /api/labs/{id} - Escritura concurrente (409)")
+    void testUpdateLab_OptimisticLockConflict() throws Exception {
+        // Given
+        when(labService.updateLab(eq(1L), any(LabRequestDTO.class), eq(0L)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Lab.class, 1L));
+
+        // When & Then
+        mockMvc.perform(put("/api/labs/1")
+                .header("If-Match", "\"1-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(labRequestDTO)))
+                .andExpect(status().isConflict());
     }
 
     @Test
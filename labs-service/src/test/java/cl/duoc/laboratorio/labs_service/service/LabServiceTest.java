@@ -2,13 +2,19 @@ package cl.duoc.laboratorio.labs_service.service;
 
 import cl.duoc.laboratorio.labs_service.dto.LabRequestDTO;
 import cl.duoc.laboratorio.labs_service.dto.LabResponseDTO;
+import cl.duoc.laboratorio.labs_service.dto.LabVersionDTO;
+import cl.duoc.laboratorio.labs_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.labs_service.exception.ResourceNotFoundException;
 import cl.duoc.laboratorio.labs_service.model.Lab;
+import cl.duoc.laboratorio.labs_service.model.LabEvent;
+import cl.duoc.laboratorio.labs_service.model.LabEventType;
+import cl.duoc.laboratorio.labs_service.repository.LabEventRepository;
 import cl.duoc.laboratorio.labs_service.repository.LabRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -31,6 +37,9 @@ class LabServiceTest {
     @Mock
     private LabRepository labRepository;
 
+    @Mock
+    private LabEventRepository labEventRepository;
+
     @InjectMocks
     private LabService labService;
 
@@ -150,42 +159,65 @@ class LabServiceTest {
     }
 
     @Test
-    @DisplayName("Actualizar laboratorio - Exitoso")
+    @DisplayName("ETag de laboratorios - Solo consulta los pares (id, versión)")
+    void testGetLabsEtag() {
+        // Given
+        when(labRepository.findAllVersions()).thenReturn(List.of(new LabVersionDTO(1L, 2L), new LabVersionDTO(51L, 0L)));
+
+        // When
+        String etag = labService.getLabsEtag();
+
+        // Then: el mismo valor que calcula el catálogo de results-service
+        assertEquals("\"2-8674cec79a826b64\"", etag);
+        verify(labRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("ETag de laboratorios - Cambia aunque la cantidad, el mayor ID y la suma de versiones coincidan")
+    void testGetLabsEtag_SameTotalsDifferentVersions() {
+        // Given
+        when(labRepository.findAllVersions())
+            .thenReturn(List.of(new LabVersionDTO(1L, 2L), new LabVersionDTO(51L, 0L)))
+            .thenReturn(List.of(new LabVersionDTO(1L, 0L), new LabVersionDTO(51L, 2L)));
+
+        // When & Then
+        assertNotEquals(labService.getLabsEtag(), labService.getLabsEtag());
+    }
+
+    @Test
+    @DisplayName("Actualizar laboratorio - Exitoso sin SELECT previo")
     void testUpdateLab_Success() {
         // Given
         LabRequestDTO updateDTO = new LabRequestDTO();
         updateDTO.setName("Laboratorio Actualizado");
 
-        Lab updatedLab = new Lab();
-        updatedLab.setId(1L);
-        updatedLab.setName("Laboratorio Actualizado");
-
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
-        when(labRepository.existsByName("Laboratorio Actualizado")).thenReturn(false);
-        when(labRepository.save(any(Lab.class))).thenReturn(updatedLab);
+        when(labRepository.existsByNameAndIdNot("Laboratorio Actualizado", 1L)).thenReturn(false);
+        when(labRepository.updateName(1L, "Laboratorio Actualizado", 0L)).thenReturn(1);
 
         // When
-        LabResponseDTO result = labService.updateLab(1L, updateDTO);
+        LabResponseDTO result = labService.updateLab(1L, updateDTO, 0L);
 
         // Then
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals("Laboratorio Actualizado", result.getName());
-        verify(labRepository, times(1)).save(any(Lab.class));
+        verify(labRepository, never()).findById(anyLong());
+        verify(labRepository, never()).save(any(Lab.class));
     }
 
     @Test
     @DisplayName("Actualizar laboratorio - No encontrado")
     void testUpdateLab_NotFound() {
         // Given
-        when(labRepository.findById(1L)).thenReturn(Optional.empty());
+        when(labRepository.updateName(1L, "Laboratorio Central", 0L)).thenReturn(0);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
             ResourceNotFoundException.class,
-            () -> labService.updateLab(1L, labRequestDTO)
+            () -> labService.updateLab(1L, labRequestDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Laboratorio no encontrado"));
-        verify(labRepository, never()).save(any(Lab.class));
+        verify(labEventRepository, never()).save(any(LabEvent.class));
     }
 
     @Test
@@ -195,33 +227,52 @@ class LabServiceTest {
         LabRequestDTO updateDTO = new LabRequestDTO();
         updateDTO.setName("Laboratorio Duplicado");
 
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
-        when(labRepository.existsByName("Laboratorio Duplicado")).thenReturn(true);
+        when(labRepository.existsByNameAndIdNot("Laboratorio Duplicado", 1L)).thenReturn(true);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> labService.updateLab(1L, updateDTO)
+            () -> labService.updateLab(1L, updateDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Ya existe un laboratorio con el nombre"));
-        verify(labRepository, never()).save(any(Lab.class));
+        verify(labRepository, never()).updateName(anyLong(), anyString(), any());
     }
 
     @Test
-    @DisplayName("Actualizar laboratorio - Mismo nombre (sin cambio)")
-    void testUpdateLab_SameName() {
+    @DisplayName("Actualizar laboratorio - Versión de If-Match vigente")
+    void testUpdateLab_VersionMatches() {
         // Given
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
-        when(labRepository.existsByName("Laboratorio Central")).thenReturn(true);
-        when(labRepository.save(any(Lab.class))).thenReturn(testLab);
+        when(labRepository.updateName(1L, "Laboratorio Central", 3L)).thenReturn(1);
 
         // When
-        LabResponseDTO result = labService.updateLab(1L, labRequestDTO);
+        LabResponseDTO result = labService.updateLab(1L, labRequestDTO, 3L);
 
         // Then
-        assertNotNull(result);
         assertEquals("Laboratorio Central", result.getName());
-        verify(labRepository, times(1)).save(any(Lab.class));
+        verify(labRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Actualizar laboratorio - Versión de If-Match obsoleta")
+    void testUpdateLab_VersionMismatch() {
+        // Given
+        when(labRepository.updateName(1L, "Laboratorio Central", 2L)).thenReturn(0);
+        when(labRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> labService.updateLab(1L, labRequestDTO, 2L));
+        verify(labEventRepository, never()).save(any(LabEvent.class));
+    }
+
+    @Test
+    @DisplayName("ETag de laboratorio - Solo consulta la versión")
+    void testGetLabEtag() {
+        // Given
+        when(labRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        assertEquals(Optional.of("\"1-3\""), labService.getLabEtag(1L));
+        verify(labRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -253,4 +304,39 @@ class LabServiceTest {
         assertTrue(exception.getMessage().contains("Laboratorio no encontrado"));
         verify(labRepository, never()).delete(any(Lab.class));
     }
+
+    @Test
+    @DisplayName("Outbox - Cada cambio registra un evento en la misma transacción")
+    void testChanges_WriteLabEvents() {
+        // Given
+        when(labRepository.existsByName(anyString())).thenReturn(false);
+        when(labRepository.save(any(Lab.class))).thenReturn(testLab);
+        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+        when(labRepository.updateName(1L, "Laboratorio Central", 0L)).thenReturn(1);
+
+        // When
+        labService.createLab(labRequestDTO);
+        labService.updateLab(1L, labRequestDTO, 0L);
+        labService.deleteLab(1L);
+
+        // Then
+        ArgumentCaptor<LabEvent> captor = ArgumentCaptor.forClass(LabEvent.class);
+        verify(labEventRepository, times(3)).save(captor.capture());
+        List<LabEvent> events = captor.getAllValues();
+        assertEquals(LabEventType.CREATED, events.get(0).getEventType());
+        assertEquals(LabEventType.UPDATED, events.get(1).getEventType());
+        assertEquals(LabEventType.DELETED, events.get(2).getEventType());
+        assertTrue(events.stream().allMatch(event -> event.getLabId().equals(1L) && event.getCreatedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Outbox - Sin evento si la operación falla")
+    void testFailedChange_NoLabEvent() {
+        // Given
+        when(labRepository.existsByName(anyString())).thenReturn(true);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> labService.createLab(labRequestDTO));
+        verify(labEventRepository, never()).save(any(LabEvent.class));
+    }
 }
@@ -0,0 +1,50 @@
+package cl.duoc.laboratorio.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Argumentos clave=valor de LoadTestServers y LoadTestDriver (por ejemplo rps=200 duration=60s).
+ */
+final class Arguments {
+
+    private final Map<String, String> values;
+
+    private Arguments(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static Arguments parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (se espera clave=valor)");
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new Arguments(values);
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    Duration getDuration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+}
@@ -0,0 +1,332 @@
+package cl.duoc.laboratorio.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Genera usuarios con roles, laboratorios y resultados sintéticos, coherentes con las claves
+ * foráneas del esquema, y los carga con inserciones JDBC por lotes. En Oracle cada lote usa
+ * inserción directa (hint APPEND_VALUES) y se confirma por separado; las claves foráneas de
+ * USER_ROLES y RESULTS se desactivan durante la carga, porque con ellas activas Oracle ignora el
+ * hint, y se reactivan validando los datos al terminar.
+ *
+ * Los datos dependen solo de la semilla: la misma semilla produce los mismos nombres, tipos de
+ * examen, valores y estados (las fechas se cuentan hacia atrás desde el día de la carga).
+ *
+ * Argumentos: url, username y password (los de application.properties por defecto), users (10000),
+ * labs (20), results (1000000), seed (42) y batch (1000).
+ */
+@Slf4j
+public final class DataGenerator {
+
+    static final String GENERATED_PASSWORD = "Carga123!";
+    static final long DEFAULT_SEED = 42;
+    static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    // Cada 50 usuarios hay un médico y un laboratorista; el resto son pacientes
+    private static final int STAFF_INTERVAL = 50;
+    // Margen sobre el último ID generado: el optimizador pooled usa el NEXTVAL como tope del bloque
+    private static final int SEQUENCE_MARGIN = 51;
+    private static final int HISTORY_DAYS = 730;
+
+    private static final String[] NOMBRES = {
+        "María", "José", "Camila", "Juan", "Valentina", "Diego", "Francisca", "Matías", "Javiera", "Benjamín",
+        "Catalina", "Vicente", "Fernanda", "Tomás", "Constanza", "Sebastián", "Isidora", "Nicolás", "Antonia", "Felipe"};
+    private static final String[] APELLIDOS = {
+        "González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras", "Silva", "Martínez", "Sepúlveda",
+        "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres", "Araya", "Flores", "Espinoza", "Valenzuela"};
+    private static final String[] CIUDADES = {
+        "Santiago", "Valparaíso", "Concepción", "La Serena", "Antofagasta", "Temuco", "Rancagua", "Talca",
+        "Arica", "Iquique", "Puerto Montt", "Chillán", "Osorno", "Valdivia", "Punta Arenas", "Copiapó"};
+
+    private static final List<Exam> EXAMS = List.of(
+        new Exam("Hemograma Completo", List.of(
+            new Analyte("hemoglobina", 10, 18, 1), new Analyte("hematocrito", 32, 52, 0),
+            new Analyte("eritrocitos", 3.8, 6.0, 2), new Analyte("leucocitos", 3500, 12000, 0),
+            new Analyte("plaquetas", 140000, 450000, 0), new Analyte("vcm", 78, 100, 1),
+            new Analyte("hcm", 26, 34, 1), new Analyte("chcm", 31, 37, 1),
+            new Analyte("neutrofilos", 40, 75, 0), new Analyte("linfocitos", 18, 45, 0),
+            new Analyte("monocitos", 2, 10, 0), new Analyte("eosinofilos", 0, 6, 0),
+            new Analyte("basofilos", 0, 2, 0))),
+        new Exam("Perfil Lipídico", List.of(
+            new Analyte("colesterol_total", 140, 280, 0), new Analyte("hdl", 30, 80, 0),
+            new Analyte("ldl", 60, 190, 0), new Analyte("vldl", 10, 40, 0),
+            new Analyte("trigliceridos", 50, 350, 0))),
+        new Exam("Glicemia en Ayunas", List.of(new Analyte("glucosa", 65, 180, 0))),
+        new Exam("Función Renal", List.of(
+            new Analyte("creatinina", 0.5, 1.8, 2), new Analyte("urea", 15, 60, 0),
+            new Analyte("acido_urico", 2.5, 8.5, 1), new Analyte("nitrogeno_ureico", 7, 25, 0))),
+        new Exam("Perfil Hepático", List.of(
+            new Analyte("got", 10, 60, 0), new Analyte("gpt", 7, 70, 0), new Analyte("ggt", 8, 90, 0),
+            new Analyte("fosfatasa_alcalina", 40, 150, 0), new Analyte("bilirrubina_total", 0.2, 1.5, 2),
+            new Analyte("bilirrubina_directa", 0.0, 0.4, 2), new Analyte("albumina", 3.2, 5.2, 1))),
+        new Exam("Prueba de COVID-19", List.of()));
+    private static final String OBSERVACION =
+        "Muestra procesada según protocolo; se recomienda control y correlación clínica con el médico tratante. ";
+
+    private final Connection connection;
+    private final int batchSize;
+    private final long seed;
+    private final boolean oracle;
+
+    private record Analyte(String name, double min, double max, int decimals) {
+    }
+
+    private record Exam(String testType, List<Analyte> analytes) {
+    }
+
+    private record ForeignKey(String table, String name) {
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, long index, SplittableRandom random) throws SQLException;
+    }
+
+    DataGenerator(Connection connection, int batchSize, long seed) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.seed = seed;
+        this.oracle = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("oracle");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        DataSet data = DataSet.from(arguments);
+        try (Connection connection = DriverManager.getConnection(
+                arguments.get("url", "jdbc:oracle:thin:@//localhost:1521/XEPDB1"),
+                arguments.get("username", "backend"),
+                arguments.get("password", "backend123"))) {
+            new DataGenerator(connection, arguments.getInt("batch", DEFAULT_BATCH_SIZE), arguments.getLong("seed", DEFAULT_SEED))
+                .generate(data, new BCryptPasswordEncoder().encode(GENERATED_PASSWORD));
+        }
+    }
+
+    /**
+     * Inserta los datos con IDs a partir de los desplazamientos de DataSet y reinicia las
+     * secuencias por encima del último ID. Falla si ya hay datos generados en ese rango.
+     */
+    void generate(DataSet data, String passwordHash) throws SQLException {
+        requireEmptyRange("USERS", DataSet.USER_ID_OFFSET);
+        requireEmptyRange("LABS", DataSet.LAB_ID_OFFSET);
+        requireEmptyRange("RESULTS", DataSet.RESULT_ID_OFFSET);
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        List<ForeignKey> disabledConstraints = oracle ? disableForeignKeys("USER_ROLES", "RESULTS") : List.of();
+        try {
+            insertLabs(data);
+            insertUsers(data, passwordHash);
+            insertResults(data);
+        } finally {
+            enableForeignKeys(disabledConstraints);
+            connection.setAutoCommit(autoCommit);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(restart("USERS_SEQ", DataSet.USER_ID_OFFSET + data.users()));
+            statement.execute(restart("LABS_SEQ", DataSet.LAB_ID_OFFSET + data.labs()));
+            statement.execute(restart("RESULTS_SEQ", DataSet.RESULT_ID_OFFSET + data.results()));
+        }
+    }
+
+    private void insertLabs(DataSet data) throws SQLException {
+        insert("LABS", "ID, NAME, VERSION", data.labs(), (statement, i, random) -> {
+            statement.setLong(1, DataSet.LAB_ID_OFFSET + i);
+            statement.setString(2, "Laboratorio " + CIUDADES[(int) ((i - 1) % CIUDADES.length)] + " " + i);
+            statement.setLong(3, 0);
+        });
+    }
+
+    private void insertUsers(DataSet data, String passwordHash) throws SQLException {
+        Map<String, Long> roleIds = roleIds();
+        insert("USERS", "ID, EMAIL, PASSWORD_HASH, FULL_NAME, VERSION", data.users(), (statement, i, random) -> {
+            statement.setLong(1, DataSet.USER_ID_OFFSET + i);
+            statement.setString(2, role(i).toLowerCase(Locale.ROOT) + i + "@carga.cl");
+            statement.setString(3, passwordHash);
+            statement.setString(4, pick(NOMBRES, random) + " " + pick(APELLIDOS, random) + " " + pick(APELLIDOS, random));
+            statement.setLong(5, 0);
+        });
+        insert("USER_ROLES", "USER_ID, ROLE_ID", data.users(), (statement, i, random) -> {
+            statement.setLong(1, DataSet.USER_ID_OFFSET + i);
+            statement.setLong(2, roleIds.get(role(i)));
+        });
+    }
+
+    // Resultados solo de pacientes, con más exámenes para los primeros (distribución sesgada)
+    // y sin fecha mientras están pendientes
+    private void insertResults(DataSet data) throws SQLException {
+        LocalDate today = LocalDate.now();
+        insert("RESULTS", "ID, USER_ID, LAB_ID, TEST_TYPE, VALUE_JSON, STATUS, RESULT_DATE, VERSION", data.results(),
+            (statement, i, random) -> {
+                Exam exam = EXAMS.get(random.nextInt(EXAMS.size()));
+                String status = status(random);
+                statement.setLong(1, DataSet.RESULT_ID_OFFSET + i);
+                statement.setLong(2, DataSet.USER_ID_OFFSET + patient(data, random));
+                statement.setLong(3, DataSet.LAB_ID_OFFSET + 1 + random.nextInt(data.labs()));
+                statement.setString(4, exam.testType());
+                statement.setString(5, valueJson(exam, random));
+                statement.setString(6, status);
+                if (status.equals("PENDIENTE")) {
+                    statement.setNull(7, Types.DATE);
+                } else {
+                    statement.setDate(7, Date.valueOf(today.minusDays(random.nextInt(HISTORY_DAYS))));
+                }
+                statement.setLong(8, 0);
+            });
+    }
+
+    private void insert(String table, String columns, long rows, RowWriter writer) throws SQLException {
+        int parameters = columns.split(",").length;
+        String sql = "INSERT " + (oracle ? "/*+ APPEND_VALUES */ " : "") + "INTO " + table + " (" + columns + ") VALUES ("
+            + String.join(", ", Collections.nCopies(parameters, "?")) + ")";
+        SplittableRandom random = new SplittableRandom(seed ^ table.hashCode());
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long i = 1; i <= rows; i++) {
+                writer.write(statement, i, random);
+                statement.addBatch();
+                // La inserción directa exige confirmar antes de volver a escribir en la tabla
+                if (i % batchSize == 0 || i == rows) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = Math.max(0.001, (System.nanoTime() - start) / 1_000_000_000.0);
+        log.info("{}: {} filas en {} s ({} filas por segundo)", table, rows,
+            String.format(Locale.ROOT, "%.1f", seconds), (long) (rows / seconds));
+    }
+
+    static String role(long user) {
+        long position = user % STAFF_INTERVAL;
+        if (position == 0) {
+            return "MEDICO";
+        }
+        return position == STAFF_INTERVAL / 2 ? "LABORATORISTA" : "PACIENTE";
+    }
+
+    // Índice de paciente en [1, users]: el cuadrado de un uniforme concentra los resultados en los primeros
+    static long patient(DataSet data, SplittableRandom random) {
+        double uniform = random.nextDouble();
+        long user = 1 + (long) (data.users() * uniform * uniform);
+        while (!role(user).equals("PACIENTE")) {
+            user = user > 1 ? user - 1 : user + 1;
+        }
+        return user;
+    }
+
+    private static String valueJson(Exam exam, SplittableRandom random) {
+        StringBuilder json = new StringBuilder("{");
+        if (exam.analytes().isEmpty()) {
+            json.append("\"resultado\": \"").append(random.nextInt(20) == 0 ? "positivo" : "negativo")
+                .append("\", \"metodo\": \"PCR\"");
+        }
+        for (Analyte analyte : exam.analytes()) {
+            if (json.length() > 1) {
+                json.append(", ");
+            }
+            double value = analyte.min() + random.nextDouble() * (analyte.max() - analyte.min());
+            json.append('"').append(analyte.name()).append("\": ")
+                .append(String.format(Locale.ROOT, "%." + analyte.decimals() + "f", value));
+        }
+        // Uno de cada 20 lleva observaciones largas, hasta unos 3 KB
+        if (random.nextInt(20) == 0) {
+            json.append(", \"observaciones\": \"").append(OBSERVACION.repeat(1 + random.nextInt(30)).strip()).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static String status(SplittableRandom random) {
+        int value = random.nextInt(100);
+        if (value < 80) {
+            return "COMPLETADO";
+        }
+        if (value < 90) {
+            return "EN_PROCESO";
+        }
+        return value < 97 ? "PENDIENTE" : "REVISADO";
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Map<String, Long> roleIds() throws SQLException {
+        Map<String, Long> roleIds = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT NAME, ID FROM ROLES")) {
+            while (resultSet.next()) {
+                roleIds.put(resultSet.getString(1), resultSet.getLong(2));
+            }
+        }
+        for (String role : List.of("PACIENTE", "MEDICO", "LABORATORISTA")) {
+            if (!roleIds.containsKey(role)) {
+                throw new IllegalStateException("No existe el rol " + role + "; ejecuta primero schema_oracle.sql");
+            }
+        }
+        return roleIds;
+    }
+
+    private void requireEmptyRange(String table, long offset) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table + " WHERE ID > " + offset)) {
+            resultSet.next();
+            if (resultSet.getLong(1) > 0) {
+                throw new IllegalStateException("La tabla " + table + " ya tiene filas con ID mayor a " + offset
+                    + "; usa una base de datos recién creada con schema_oracle.sql");
+            }
+        }
+    }
+
+    private List<ForeignKey> disableForeignKeys(String... tables) throws SQLException {
+        List<ForeignKey> disabled = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT CONSTRAINT_NAME FROM USER_CONSTRAINTS "
+                    + "WHERE TABLE_NAME = ? AND CONSTRAINT_TYPE = 'R' AND STATUS = 'ENABLED'");
+             Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                query.setString(1, table);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        disabled.add(new ForeignKey(table, resultSet.getString(1)));
+                    }
+                }
+            }
+            for (ForeignKey foreignKey : disabled) {
+                statement.execute("ALTER TABLE " + foreignKey.table() + " DISABLE CONSTRAINT " + foreignKey.name());
+            }
+        }
+        return disabled;
+    }
+
+    private void enableForeignKeys(List<ForeignKey> foreignKeys) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (ForeignKey foreignKey : foreignKeys) {
+                statement.execute("ALTER TABLE " + foreignKey.table() + " ENABLE VALIDATE CONSTRAINT " + foreignKey.name());
+            }
+        }
+    }
+
+    private String restart(String sequence, long lastId) {
+        // Oracle 18c o superior; H2 no acepta la forma RESTART START WITH
+        return "ALTER SEQUENCE " + sequence + (oracle ? " RESTART START WITH " : " RESTART WITH ") + (lastId + SEQUENCE_MARGIN);
+    }
+}
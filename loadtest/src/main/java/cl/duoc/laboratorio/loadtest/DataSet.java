@@ -0,0 +1,35 @@
+package cl.duoc.laboratorio.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Volumen de los datos generados y sus rangos de IDs. LoadTestServers los inserta y
+ * LoadTestDriver elige IDs al azar dentro de los mismos rangos, por eso ambos deben
+ * recibir los mismos argumentos users, labs y results.
+ */
+record DataSet(int users, int labs, long results) {
+
+    // Los IDs generados empiezan después de los datos de ejemplo de schema_oracle.sql
+    static final long USER_ID_OFFSET = 1000;
+    static final long LAB_ID_OFFSET = 100;
+    static final long RESULT_ID_OFFSET = 1000;
+
+    static DataSet from(Arguments arguments) {
+        return new DataSet(
+            arguments.getInt("users", 10_000),
+            arguments.getInt("labs", 20),
+            arguments.getLong("results", 1_000_000));
+    }
+
+    long randomUserId() {
+        return USER_ID_OFFSET + 1 + ThreadLocalRandom.current().nextLong(users);
+    }
+
+    long randomLabId() {
+        return LAB_ID_OFFSET + 1 + ThreadLocalRandom.current().nextLong(labs);
+    }
+
+    long randomResultId() {
+        return RESULT_ID_OFFSET + 1 + ThreadLocalRandom.current().nextLong(results);
+    }
+}
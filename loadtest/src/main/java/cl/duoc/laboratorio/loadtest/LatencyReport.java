@@ -0,0 +1,85 @@
+package cl.duoc.laboratorio.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y códigos de respuesta por endpoint (nombre de la solicitud en la colección).
+ * Los histogramas HdrHistogram admiten registros concurrentes desde los hilos virtuales.
+ */
+final class LatencyReport {
+
+    // Hasta 60 s con 3 dígitos significativos
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    LatencyReport(Iterable<String> names) {
+        for (String name : names) {
+            endpoints.putIfAbsent(name, new Endpoint());
+        }
+    }
+
+    void record(String name, int status, long latencyNanos) {
+        Endpoint endpoint = endpoints.get(name);
+        endpoint.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status >= 200 && status < 400) {
+            endpoint.ok.increment();
+        } else if (status >= 400 && status < 500) {
+            endpoint.clientErrors.increment();
+        } else {
+            endpoint.serverErrors.increment();
+        }
+    }
+
+    // Fallo sin respuesta HTTP (timeout, conexión rechazada): cuenta como error del servidor
+    void recordFailure(String name, long latencyNanos) {
+        record(name, 0, latencyNanos);
+    }
+
+    void print(PrintStream out, Duration measured) {
+        out.printf("%-36s %9s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Total", "2xx/3xx", "4xx", "5xx/err", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long requests = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram histogram = endpoint.latency.getIntervalHistogram();
+            total.add(histogram);
+            requests += histogram.getTotalCount();
+            printRow(out, entry.getKey(), histogram, endpoint.ok.sum(), endpoint.clientErrors.sum(), endpoint.serverErrors.sum());
+        }
+        long ok = endpoints.values().stream().mapToLong(e -> e.ok.sum()).sum();
+        long clientErrors = endpoints.values().stream().mapToLong(e -> e.clientErrors.sum()).sum();
+        long serverErrors = endpoints.values().stream().mapToLong(e -> e.serverErrors.sum()).sum();
+        printRow(out, "TOTAL", total, ok, clientErrors, serverErrors);
+        out.printf("%nSolicitudes medidas: %d en %d s (%.1f por segundo)%n",
+            requests, measured.toSeconds(), requests / Math.max(1.0, measured.toMillis() / 1000.0));
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long ok, long clientErrors, long serverErrors) {
+        out.printf("%-36s %9d %8d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            name.length() > 36 ? name.substring(0, 36) : name, histogram.getTotalCount(), ok, clientErrors, serverErrors,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final Recorder latency = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+    }
+}
@@ -0,0 +1,139 @@
+package cl.duoc.laboratorio.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base de datos local que reemplaza a Oracle en las pruebas de carga: H2 en memoria en modo
+ * Oracle, con el esquema de schema_oracle.sql, las migraciones de los tres servicios y los
+ * datos sintéticos de DataGenerator.
+ */
+@Slf4j
+final class LoadTestDatabase {
+
+    // DEFAULT_NULL_ORDERING=HIGH: los NULL quedan al final en orden ascendente, como en Oracle
+    static final String URL = "jdbc:h2:mem:laboratorios;MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    static final String USERNAME = "sa";
+
+    private static final String SCHEMA = "loadtest/schema_oracle.sql";
+    private static final String MIGRATIONS = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    // Contraseñas documentadas en schema_oracle.sql; el script trae hashes de ejemplo que no las verifican
+    private static final Map<String, String> SEED_PASSWORDS = Map.of(
+        "admin@laboratorio.cl", "admin123",
+        "doctor@laboratorio.cl", "doctor123",
+        "paciente@laboratorio.cl", "paciente123",
+        "lab@laboratorio.cl", "lab123");
+
+    private LoadTestDatabase() {
+    }
+
+    static void create(String url, DataSet data) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, "")) {
+            create(connection, data);
+        }
+    }
+
+    // También sirve con una conexión a Oracle: el script y las migraciones son los de producción
+    static void create(Connection connection, DataSet data) throws SQLException, IOException {
+        execute(connection, new ClassPathResource(SCHEMA));
+        for (Resource migration : migrations()) {
+            execute(connection, migration);
+        }
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        resetSeedPasswords(connection, encoder);
+        new DataGenerator(connection, DataGenerator.DEFAULT_BATCH_SIZE, DataGenerator.DEFAULT_SEED)
+            .generate(data, encoder.encode(DataGenerator.GENERATED_PASSWORD));
+    }
+
+    // Migraciones de los tres servicios en orden de versión; cada una toca solo tablas de su servicio
+    private static List<Resource> migrations() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(MIGRATIONS);
+        return Arrays.stream(resources)
+            .sorted(Comparator.comparingInt(LoadTestDatabase::version).thenComparing(Resource::getFilename))
+            .toList();
+    }
+
+    private static int version(Resource migration) {
+        Matcher matcher = MIGRATION_VERSION.matcher(migration.getFilename());
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Nombre de migración inválido: " + migration.getFilename());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static void execute(Connection connection, Resource script) throws SQLException, IOException {
+        String sql = script.getContentAsString(StandardCharsets.UTF_8);
+        try (Statement statement = connection.createStatement()) {
+            for (String command : statements(sql)) {
+                statement.execute(command);
+            }
+        }
+        log.info("Script aplicado: {}", script.getFilename());
+    }
+
+    /**
+     * Sentencias CREATE, ALTER e INSERT de un script Oracle. Se omiten los bloques PL/SQL
+     * (BEGIN ... END; /), que solo borran objetos previos, y las consultas de verificación.
+     */
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inBlock = false;
+        for (String line : script.split("\\R")) {
+            String trimmed = line.strip();
+            if (inBlock) {
+                inBlock = !trimmed.equals("/");
+                continue;
+            }
+            if (trimmed.isEmpty() || trimmed.startsWith("--") || trimmed.equals("/")) {
+                continue;
+            }
+            if (current.isEmpty() && trimmed.toUpperCase(Locale.ROOT).startsWith("BEGIN")) {
+                inBlock = true;
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String statement = current.toString().strip();
+                current.setLength(0);
+                statement = statement.substring(0, statement.length() - 1);
+                String keyword = statement.split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+                if (keyword.equals("CREATE") || keyword.equals("ALTER") || keyword.equals("INSERT")) {
+                    statements.add(statement);
+                }
+            }
+        }
+        return statements;
+    }
+
+    private static void resetSeedPasswords(Connection connection, BCryptPasswordEncoder encoder) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("UPDATE USERS SET PASSWORD_HASH = ? WHERE EMAIL = ?")) {
+            for (Map.Entry<String, String> seed : SEED_PASSWORDS.entrySet()) {
+                update.setString(1, encoder.encode(seed.getValue()));
+                update.setString(2, seed.getKey());
+                update.executeUpdate();
+            }
+        }
+    }
+}
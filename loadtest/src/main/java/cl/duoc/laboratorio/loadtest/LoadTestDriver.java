@@ -0,0 +1,137 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.loadtest.PostmanCollection.RequestTemplate;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Reenvía las solicitudes de Postman_Collection.json contra los servicios levantados con
+ * LoadTestServers e imprime los percentiles de latencia por endpoint.
+ *
+ * Modelo abierto (por defecto): rps solicitudes por segundo repartidas en orden entre las
+ * solicitudes de la colección, cada una en su propio hilo virtual. La latencia se mide desde el
+ * instante en que la solicitud debía salir, así que un servicio que se atrasa no oculta la
+ * espera de las solicitudes encoladas detrás.
+ *
+ * Modelo cerrado (clients mayor que 0): clients usuarios concurrentes que envían una solicitud
+ * tras otra sin pausa; sirve para comparar hilos virtuales y de plataforma en los servicios.
+ *
+ * Los PUT de la colección llevan If-Match: antes de cada uno se lee el ETag con un GET a la misma
+ * URL, como haría un cliente, y esa lectura queda incluida en la latencia del PUT.
+ *
+ * Argumentos: collection (../Postman_Collection.json), rps (100), clients (0), duration (60s),
+ * warmup (10s), methods (GET,POST,PUT), host (el de la colección) y users, labs y results con
+ * los mismos valores que LoadTestServers.
+ */
+public final class LoadTestDriver {
+
+    private LoadTestDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        DataSet data = DataSet.from(arguments);
+        Set<String> methods = Arrays.stream(arguments.get("methods", "GET,POST,PUT").split(","))
+            .map(String::strip)
+            .collect(Collectors.toSet());
+        List<RequestTemplate> templates = PostmanCollection.load(
+            Path.of(arguments.get("collection", "../Postman_Collection.json")), methods, arguments.get("host", null));
+        int rps = arguments.getInt("rps", 100);
+        int clients = arguments.getInt("clients", 0);
+        Duration warmup = arguments.getDuration("warmup", Duration.ofSeconds(10));
+        Duration duration = arguments.getDuration("duration", Duration.ofSeconds(60));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        List<String> names = templates.stream().map(RequestTemplate::name).toList();
+
+        System.out.printf("Calentamiento: %d s%n", warmup.toSeconds());
+        run(client, templates, data, new LatencyReport(names), rps, clients, warmup);
+
+        System.out.printf("Medición: %d s, %s%n", duration.toSeconds(),
+            clients > 0 ? clients + " clientes concurrentes" : rps + " solicitudes por segundo");
+        LatencyReport report = new LatencyReport(names);
+        run(client, templates, data, report, rps, clients, duration);
+        report.print(System.out, duration);
+    }
+
+    private static void run(HttpClient client, List<RequestTemplate> templates, DataSet data, LatencyReport report,
+                            int rps, int clients, Duration duration) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (clients > 0) {
+                runClosed(executor, client, templates, data, report, clients, duration);
+            } else {
+                runOpen(executor, client, templates, data, report, rps, duration);
+            }
+        }
+    }
+
+    private static void runOpen(ExecutorService executor, HttpClient client, List<RequestTemplate> templates,
+                                DataSet data, LatencyReport report, int rps, Duration duration) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            LockSupport.parkNanos(intended - System.nanoTime());
+            RequestTemplate template = templates.get((int) (i % templates.size()));
+            executor.execute(() -> send(client, template, data, report, intended));
+        }
+    }
+
+    private static void runClosed(ExecutorService executor, HttpClient client, List<RequestTemplate> templates,
+                                  DataSet data, LatencyReport report, int clients, Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+        for (int c = 0; c < clients; c++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < end) {
+                    RequestTemplate template = templates.get((int) (sequence.getAndIncrement() % templates.size()));
+                    send(client, template, data, report, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private static void send(HttpClient client, RequestTemplate template, DataSet data, LatencyReport report, long start) {
+        try {
+            HttpRequest request = PostmanCollection.toHttpRequest(template, data);
+            if (template.conditional()) {
+                HttpResponse<Void> current = client.send(
+                    PostmanCollection.etagLookup(request), HttpResponse.BodyHandlers.discarding());
+                Optional<String> etag = current.headers().firstValue("ETag");
+                if (etag.isEmpty()) {
+                    report.record(template.name(), current.statusCode(), System.nanoTime() - start);
+                    return;
+                }
+                request = PostmanCollection.withIfMatch(request, etag.get());
+            }
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            report.record(template.name(), response.statusCode(), System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            report.recordFailure(template.name(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.labs_service.LabsServiceApplication;
+import cl.duoc.laboratorio.results_service.ResultsServiceApplication;
+import cl.duoc.laboratorio.user_service.UserServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Levanta user-service (8081), labs-service (8083) y results-service (8082) en una misma JVM
+ * sobre la base de datos H2 de LoadTestDatabase, con la configuración de cada servicio y los
+ * ajustes de loadtest/loadtest.properties.
+ *
+ * Argumentos: users (10000), labs (20) y results (1000000).
+ */
+@Slf4j
+public final class LoadTestServers {
+
+    private LoadTestServers() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataSet data = DataSet.from(Arguments.parse(args));
+        LoadTestDatabase.create(LoadTestDatabase.URL, data);
+
+        start(UserServiceApplication.class, "user-service");
+        start(LabsServiceApplication.class, "labs-service");
+        start(ResultsServiceApplication.class, "results-service");
+        log.info("Servicios listos. Usuarios generados: pacienteN@carga.cl, medicoN@carga.cl y laboratoristaN@carga.cl "
+            + "con N entre 1 y {}, contraseña {}", data.users(), DataGenerator.GENERATED_PASSWORD);
+    }
+
+    private static void start(Class<?> application, String artifactId) throws IOException {
+        Map<String, Object> properties = serviceProperties(artifactId);
+        properties.put("spring.datasource.url", LoadTestDatabase.URL);
+        // Reemplaza la búsqueda de application.properties: en el classpath hay uno por servicio
+        properties.put("spring.config.location", "classpath:/loadtest/");
+        properties.put("spring.config.name", "loadtest");
+        new SpringApplicationBuilder(application)
+            .properties(properties)
+            .run();
+    }
+
+    // application.properties del jar del servicio indicado
+    private static Map<String, Object> serviceProperties(String artifactId) throws IOException {
+        for (URL url : Collections.list(LoadTestServers.class.getClassLoader().getResources("application.properties"))) {
+            if (url.toString().contains("/" + artifactId + "/") || url.toString().contains("/" + artifactId + "-")) {
+                Properties properties = new Properties();
+                try (InputStream input = url.openStream()) {
+                    properties.load(input);
+                }
+                Map<String, Object> values = new HashMap<>();
+                properties.forEach((key, value) -> values.put((String) key, value));
+                return values;
+            }
+        }
+        throw new IllegalStateException("No se encontró application.properties de " + artifactId + " en el classpath");
+    }
+}
@@ -0,0 +1,128 @@
+package cl.duoc.laboratorio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Solicitudes de Postman_Collection.json listas para reenviar. En cada envío se resuelven las
+ * variables dinámicas de Postman ({{$guid}}, {{$randomInt}}, {{$timestamp}}) y el ID final de
+ * las rutas de usuarios, laboratorios y resultados se reemplaza por uno al azar dentro de los
+ * datos generados, para que la carga no se concentre en una sola fila.
+ * Las solicitudes con If-Match (los PUT) se marcan como condicionales: el driver obtiene el ETag
+ * vigente con un GET a la misma URL justo antes de enviarlas.
+ */
+final class PostmanCollection {
+
+    private static final Pattern DYNAMIC_VARIABLE = Pattern.compile("\\{\\{\\$(guid|randomInt|timestamp)}}");
+    private static final List<IdRoute> ID_ROUTES = List.of(
+        new IdRoute(Pattern.compile("^(/api/results/by-user/)\\d+$"), DataSet::randomUserId),
+        new IdRoute(Pattern.compile("^(/api/users/)\\d+$"), DataSet::randomUserId),
+        new IdRoute(Pattern.compile("^(/api/labs/)\\d+$"), DataSet::randomLabId),
+        new IdRoute(Pattern.compile("^(/api/results/)\\d+$"), DataSet::randomResultId));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    record RequestTemplate(String name, String method, URI uri, String body, boolean conditional) {
+    }
+
+    private record IdRoute(Pattern path, ToLongFunction<DataSet> randomId) {
+    }
+
+    private PostmanCollection() {
+    }
+
+    /**
+     * Solicitudes de la colección con alguno de los métodos indicados, en el orden del archivo.
+     * Si host no es null reemplaza el host de cada URL (los puertos se mantienen).
+     */
+    static List<RequestTemplate> load(Path collection, Set<String> methods, String host) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(collection.toFile());
+        List<RequestTemplate> requests = new ArrayList<>();
+        collect(root.path("item"), methods, host, requests);
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("La colección no tiene solicitudes con los métodos " + methods);
+        }
+        return requests;
+    }
+
+    private static void collect(JsonNode items, Set<String> methods, String host, List<RequestTemplate> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.path("item"), methods, host, requests);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            String method = request.path("method").asText();
+            if (!methods.contains(method)) {
+                continue;
+            }
+            URI uri = URI.create(request.path("url").path("raw").asText());
+            if (host != null) {
+                uri = URI.create(uri.getScheme() + "://" + host + ":" + uri.getPort() + uri.getRawPath());
+            }
+            String body = request.path("body").path("raw").asText(null);
+            requests.add(new RequestTemplate(item.path("name").asText(), method, uri, body, hasIfMatch(request)));
+        }
+    }
+
+    static HttpRequest toHttpRequest(RequestTemplate template, DataSet data) {
+        URI uri = template.uri().resolve(randomizeId(template.uri().getRawPath(), data));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT);
+        if (template.body() != null) {
+            builder.header("Content-Type", "application/json")
+                .method(template.method(), HttpRequest.BodyPublishers.ofString(resolveVariables(template.body())));
+        } else {
+            builder.method(template.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    // GET a la URL de una solicitud condicional para leer su ETag vigente
+    static HttpRequest etagLookup(HttpRequest request) {
+        return HttpRequest.newBuilder(request.uri()).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    static HttpRequest withIfMatch(HttpRequest request, String etag) {
+        return HttpRequest.newBuilder(request, (name, value) -> true).header("If-Match", etag).build();
+    }
+
+    private static boolean hasIfMatch(JsonNode request) {
+        for (JsonNode header : request.path("header")) {
+            if (header.path("key").asText().equalsIgnoreCase("If-Match")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String randomizeId(String path, DataSet data) {
+        for (IdRoute route : ID_ROUTES) {
+            Matcher matcher = route.path().matcher(path);
+            if (matcher.matches()) {
+                return matcher.group(1) + route.randomId().applyAsLong(data);
+            }
+        }
+        return path;
+    }
+
+    static String resolveVariables(String body) {
+        return DYNAMIC_VARIABLE.matcher(body).replaceAll(match -> switch (match.group(1)) {
+            case "guid" -> UUID.randomUUID().toString();
+            case "randomInt" -> String.valueOf(ThreadLocalRandom.current().nextInt(1001));
+            default -> String.valueOf(System.currentTimeMillis() / 1000);
+        });
+    }
+}
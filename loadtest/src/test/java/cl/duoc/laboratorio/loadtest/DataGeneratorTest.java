@@ -0,0 +1,125 @@
+package cl.duoc.laboratorio.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DataGenerator
+ * Cobertura: roles por usuario, resultados solo de pacientes, integridad referencial,
+ * tamaños variados de VALUE_JSON, reproducibilidad con la misma semilla y rango ya ocupado
+ */
+class DataGeneratorTest {
+
+    private static final DataSet DATA = new DataSet(200, 5, 3_000);
+
+    @Test
+    @DisplayName("Roles - Un médico y un laboratorista cada 50 usuarios")
+    void testRole() {
+        // When & Then
+        assertEquals("PACIENTE", DataGenerator.role(1));
+        assertEquals("LABORATORISTA", DataGenerator.role(25));
+        assertEquals("MEDICO", DataGenerator.role(50));
+        assertEquals("PACIENTE", DataGenerator.role(51));
+    }
+
+    @Test
+    @DisplayName("Pacientes - Siempre dentro del rango y con rol PACIENTE")
+    void testPatient() {
+        // Given
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            // When
+            long patient = DataGenerator.patient(DATA, random);
+
+            // Then
+            assertTrue(patient >= 1 && patient <= DATA.users());
+            assertEquals("PACIENTE", DataGenerator.role(patient));
+        }
+    }
+
+    @Test
+    @DisplayName("Carga - Datos coherentes con las claves foráneas y VALUE_JSON de tamaños variados")
+    void testGenerate() throws Exception {
+        // Given
+        try (Connection connection = schema("generator-consistency")) {
+
+            // When
+            new DataGenerator(connection, 500, DataGenerator.DEFAULT_SEED).generate(DATA, "hash");
+
+            // Then
+            try (Statement statement = connection.createStatement()) {
+                assertEquals(DATA.results(), count(statement, "SELECT COUNT(*) FROM RESULTS WHERE ID > 1000"));
+                assertEquals(DATA.users(), count(statement, "SELECT COUNT(*) FROM USER_ROLES WHERE USER_ID > 1000"));
+                assertEquals(4, count(statement, "SELECT COUNT(*) FROM USER_ROLES ur JOIN ROLES r ON r.ID = ur.ROLE_ID "
+                    + "WHERE r.NAME = 'MEDICO' AND ur.USER_ID > 1000"));
+                assertEquals(0, count(statement, "SELECT COUNT(*) FROM RESULTS res WHERE res.ID > 1000 AND NOT EXISTS "
+                    + "(SELECT 1 FROM USER_ROLES ur JOIN ROLES r ON r.ID = ur.ROLE_ID "
+                    + "WHERE ur.USER_ID = res.USER_ID AND r.NAME = 'PACIENTE')"));
+                assertEquals(0, count(statement, "SELECT COUNT(*) FROM RESULTS WHERE ID > 1000 AND "
+                    + "(LAB_ID <= 100 OR LAB_ID > 105)"));
+                assertTrue(count(statement, "SELECT MIN(LENGTH(VALUE_JSON)) FROM RESULTS WHERE ID > 1000") < 50);
+                assertTrue(count(statement, "SELECT MAX(LENGTH(VALUE_JSON)) FROM RESULTS WHERE ID > 1000") > 1_000);
+                assertTrue(count(statement, "SELECT NEXT VALUE FOR USERS_SEQ") > 1000 + DATA.users());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Semilla - La misma semilla genera los mismos datos")
+    void testSameSeedSameData() throws Exception {
+        // Given
+        try (Connection first = schema("generator-seed-1");
+             Connection second = schema("generator-seed-2")) {
+
+            // When
+            new DataGenerator(first, 1_000, 7).generate(DATA, "hash");
+            new DataGenerator(second, 250, 7).generate(DATA, "hash");
+
+            // Then
+            String fingerprint = "SELECT SUM(USER_ID * 31 + LAB_ID + LENGTH(VALUE_JSON) + LENGTH(STATUS)) FROM RESULTS";
+            try (Statement a = first.createStatement(); Statement b = second.createStatement()) {
+                assertEquals(count(a, fingerprint), count(b, fingerprint));
+                assertEquals(count(a, "SELECT SUM(LENGTH(FULL_NAME)) FROM USERS"),
+                    count(b, "SELECT SUM(LENGTH(FULL_NAME)) FROM USERS"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Carga - Falla si ya hay datos generados en el rango de IDs")
+    void testGenerateTwiceFails() throws Exception {
+        // Given
+        try (Connection connection = schema("generator-twice")) {
+            DataGenerator generator = new DataGenerator(connection, 500, DataGenerator.DEFAULT_SEED);
+            generator.generate(new DataSet(10, 2, 10), "hash");
+
+            // When & Then
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> generator.generate(new DataSet(10, 2, 10), "hash"));
+            assertTrue(exception.getMessage().contains("USERS"));
+        }
+    }
+
+    // Esquema de schema_oracle.sql sin datos generados, en una base H2 propia de cada test
+    private static Connection schema(String name) throws Exception {
+        String url = "jdbc:h2:mem:" + name + ";MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        LoadTestDatabase.create(url, new DataSet(0, 0, 0));
+        return DriverManager.getConnection(url, LoadTestDatabase.USERNAME, "");
+    }
+
+    private static long count(Statement statement, String sql) throws Exception {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
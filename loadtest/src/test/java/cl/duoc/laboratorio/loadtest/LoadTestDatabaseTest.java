@@ -0,0 +1,108 @@
+package cl.duoc.laboratorio.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para LoadTestDatabase
+ * Cobertura: lectura de scripts Oracle, esquema con migraciones e índices, volumen generado, contraseñas y secuencias
+ */
+class LoadTestDatabaseTest {
+
+    private static final String URL = "jdbc:h2:mem:loadtest-test;MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Test
+    @DisplayName("Script - Omite bloques PL/SQL, comentarios y consultas")
+    void testStatementsSkipsBlocksAndQueries() {
+        // Given
+        String script = """
+            -- Limpieza previa
+            BEGIN
+               EXECUTE IMMEDIATE 'DROP TABLE LABS';
+            EXCEPTION WHEN OTHERS THEN NULL;
+            END;
+            /
+            CREATE TABLE LABS (
+              ID NUMBER(19) PRIMARY KEY
+            );
+            INSERT INTO LABS (ID) VALUES (1);
+            COMMIT;
+            SELECT * FROM LABS;
+            """;
+
+        // When
+        List<String> statements = LoadTestDatabase.statements(script);
+
+        // Then
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE TABLE LABS"));
+        assertEquals("INSERT INTO LABS (ID) VALUES (1)", statements.get(1));
+    }
+
+    @Test
+    @DisplayName("Creación - Esquema, datos generados y secuencias sobre H2 en modo Oracle")
+    void testCreateGeneratesData() throws Exception {
+        // Given
+        DataSet data = new DataSet(50, 3, 500);
+
+        // When
+        LoadTestDatabase.create(URL, data);
+
+        // Then
+        try (Connection connection = DriverManager.getConnection(URL, LoadTestDatabase.USERNAME, "");
+             Statement statement = connection.createStatement()) {
+            assertEquals(data.results(), count(statement,
+                "SELECT COUNT(*) FROM RESULTS WHERE ID > " + DataSet.RESULT_ID_OFFSET));
+            assertEquals(data.users(), count(statement,
+                "SELECT COUNT(*) FROM USER_ROLES WHERE USER_ID > " + DataSet.USER_ID_OFFSET));
+            assertEquals(data.labs(), count(statement,
+                "SELECT COUNT(*) FROM LABS WHERE ID > " + DataSet.LAB_ID_OFFSET));
+            assertEquals(count(statement, "SELECT COUNT(*) FROM RESULTS WHERE STATUS = 'PENDIENTE' AND ID > "
+                + DataSet.RESULT_ID_OFFSET), count(statement, "SELECT COUNT(*) FROM RESULTS WHERE RESULT_DATE IS NULL AND ID > "
+                + DataSet.RESULT_ID_OFFSET));
+            assertTrue(count(statement, "SELECT NEXT VALUE FOR RESULTS_SEQ")
+                > DataSet.RESULT_ID_OFFSET + data.results());
+
+            try (ResultSet hash = statement.executeQuery(
+                    "SELECT PASSWORD_HASH FROM USERS WHERE EMAIL = 'admin@laboratorio.cl'")) {
+                assertTrue(hash.next());
+                assertTrue(new BCryptPasswordEncoder().matches("admin123", hash.getString(1)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Migraciones - Crea los índices de RESULTS y USER_ROLES")
+    void testCreateAppliesIndexMigrations() throws Exception {
+        // Given
+        String url = "jdbc:h2:mem:loadtest-indexes;MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+        // When
+        LoadTestDatabase.create(url, new DataSet(0, 0, 0));
+
+        // Then
+        try (Connection connection = DriverManager.getConnection(url, LoadTestDatabase.USERNAME, "");
+             Statement statement = connection.createStatement()) {
+            assertEquals(3, count(statement, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME IN "
+                + "('IDX_RESULTS_USER_DATE', 'IDX_RESULTS_LAB_ID', 'IDX_USER_ROLES_ROLE_ID')"));
+            assertEquals(6, count(statement, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                + "WHERE INDEX_NAME = 'IDX_RESULTS_USER_DATE'"));
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws Exception {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.loadtest.PostmanCollection.RequestTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PostmanCollection
+ * Cobertura: lectura de la colección, filtro por método, cambio de host, IDs al azar y variables dinámicas
+ */
+class PostmanCollectionTest {
+
+    private static final Path COLLECTION = Path.of("../Postman_Collection.json");
+    private static final DataSet DATA = new DataSet(10, 2, 100);
+
+    @Test
+    @DisplayName("Lectura - Solo incluye los métodos indicados")
+    void testLoadFiltersMethods() throws Exception {
+        // When
+        List<RequestTemplate> requests = PostmanCollection.load(COLLECTION, Set.of("GET"), null);
+
+        // Then
+        assertFalse(requests.isEmpty());
+        assertTrue(requests.stream().allMatch(request -> request.method().equals("GET")));
+        assertTrue(requests.stream().allMatch(request -> request.body() == null));
+    }
+
+    @Test
+    @DisplayName("Lectura - Reemplaza el host y mantiene el puerto")
+    void testLoadOverridesHost() throws Exception {
+        // When
+        List<RequestTemplate> requests = PostmanCollection.load(COLLECTION, Set.of("POST"), "servicios");
+
+        // Then
+        assertTrue(requests.stream().allMatch(request -> request.uri().getHost().equals("servicios")));
+        assertTrue(requests.stream().anyMatch(request -> request.uri().getPort() == 8081));
+    }
+
+    @Test
+    @DisplayName("Lectura - Falla si ninguna solicitud usa los métodos indicados")
+    void testLoadWithoutMatchingMethods() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> PostmanCollection.load(COLLECTION, Set.of("PATCH"), null));
+    }
+
+    @Test
+    @DisplayName("IDs - Usa IDs dentro de los datos generados según la ruta")
+    void testRandomizeId() {
+        // When
+        long resultId = lastSegment(PostmanCollection.randomizeId("/api/results/1", DATA));
+        long userId = lastSegment(PostmanCollection.randomizeId("/api/results/by-user/3", DATA));
+        long labId = lastSegment(PostmanCollection.randomizeId("/api/labs/1", DATA));
+
+        // Then
+        assertTrue(resultId > DataSet.RESULT_ID_OFFSET && resultId <= DataSet.RESULT_ID_OFFSET + DATA.results());
+        assertTrue(userId > DataSet.USER_ID_OFFSET && userId <= DataSet.USER_ID_OFFSET + DATA.users());
+        assertTrue(labId > DataSet.LAB_ID_OFFSET && labId <= DataSet.LAB_ID_OFFSET + DATA.labs());
+        assertEquals("/api/results/labs", PostmanCollection.randomizeId("/api/results/labs", DATA));
+    }
+
+    @Test
+    @DisplayName("Variables - Resuelve {{$guid}} con un valor distinto en cada envío")
+    void testResolveVariables() {
+        // Given
+        String body = "{\"email\": \"test-{{$guid}}@laboratorio.cl\"}";
+
+        // When
+        String first = PostmanCollection.resolveVariables(body);
+        String second = PostmanCollection.resolveVariables(body);
+
+        // Then
+        assertFalse(first.contains("{{"));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Solicitud - Incluye Content-Type y método cuando hay cuerpo")
+    void testToHttpRequest() {
+        // Given
+        RequestTemplate template = new RequestTemplate("Actualizar Laboratorio", "PUT",
+            URI.create("http://localhost:8083/api/labs/1"), "{\"name\": \"Lab {{$guid}}\"}", true);
+
+        // When
+        HttpRequest request = PostmanCollection.toHttpRequest(template, DATA);
+
+        // Then
+        assertEquals("PUT", request.method());
+        assertEquals(8083, request.uri().getPort());
+        assertEquals("application/json", request.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(request.bodyPublisher().orElseThrow().contentLength() > 0);
+    }
+
+    @Test
+    @DisplayName("Solicitud - Los PUT son condicionales y llevan el ETag leído en If-Match")
+    void testConditionalPut() throws Exception {
+        // Given
+        List<RequestTemplate> puts = PostmanCollection.load(COLLECTION, Set.of("PUT"), null);
+        HttpRequest put = PostmanCollection.toHttpRequest(puts.get(0), DATA);
+
+        // When
+        HttpRequest lookup = PostmanCollection.etagLookup(put);
+        HttpRequest conditional = PostmanCollection.withIfMatch(put, "\"7-3\"");
+
+        // Then
+        assertTrue(puts.stream().allMatch(RequestTemplate::conditional));
+        assertEquals("GET", lookup.method());
+        assertEquals(put.uri(), lookup.uri());
+        assertEquals("PUT", conditional.method());
+        assertEquals("\"7-3\"", conditional.headers().firstValue("If-Match").orElseThrow());
+        assertEquals("application/json", conditional.headers().firstValue("Content-Type").orElseThrow());
+    }
+
+    private static long lastSegment(String path) {
+        return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+    }
+}
@@ -0,0 +1,149 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.model.Result;
+import cl.duoc.laboratorio.results_service.repository.ResultSpecifications;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.oracle.OracleContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para los índices de las migraciones (planes de ejecución en Oracle Free)
+ * Cobertura: historial del paciente y búsqueda filtrada solo con IDX_RESULTS_USER_DATE y sin ordenamiento,
+ * RESULTS por laboratorio con IDX_RESULTS_LAB_ID y USER_ROLES por rol con IDX_USER_ROLES_ROLE_ID
+ *
+ * Las consultas de resultados no se copian a mano: se explica el SQL que Hibernate genera al ejecutar
+ * ResultRepository y ResultSearchRepositoryImpl contra el contenedor (ver RepositorySql), así un cambio
+ * en el JPQL o en el Criteria se refleja en el plan verificado.
+ *
+ * H2 crea un índice propio para cada clave foránea y no reproduce el optimizador de Oracle,
+ * por eso estos planes se verifican contra Oracle en un contenedor. Sin Docker se omiten, salvo con
+ * -Dqueryplan.required=true, que convierte la falta de Docker en un error; QuerySqlTest sigue revisando
+ * en H2 la forma del SQL generado, pero no el plan de Oracle.
+ */
+@Testcontainers
+@DisabledIf(value = "dockerUnavailable", disabledReason = "Docker no disponible: se omiten los planes de ejecución en Oracle")
+class QueryPlanTest {
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-free:23-slim-faststart");
+
+    private static Connection connection;
+    private static RepositorySql repositorySql;
+
+    // Con queryplan.required=true nunca se omite: sin Docker el contenedor no inicia y la clase falla
+    static boolean dockerUnavailable() {
+        return !Boolean.getBoolean("queryplan.required") && !DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        connection = DriverManager.getConnection(ORACLE.getJdbcUrl(), ORACLE.getUsername(), ORACLE.getPassword());
+        LoadTestDatabase.create(connection, new DataSet(2_000, 500, 100_000));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("BEGIN DBMS_STATS.GATHER_SCHEMA_STATS(USER); END;");
+        }
+        repositorySql = new RepositorySql(
+            new DriverManagerDataSource(ORACLE.getJdbcUrl(), ORACLE.getUsername(), ORACLE.getPassword()));
+    }
+
+    @AfterAll
+    static void closeDatabase() throws Exception {
+        repositorySql.close();
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Historial del paciente - Solo lee IDX_RESULTS_USER_DATE, sin ordenar ni acceder a RESULTS")
+    void testPatientHistoryPlan() throws Exception {
+        // Given: SQL generado por ResultRepository.findSummariesByUserId
+        String sql = repositorySql.capture(repository -> repository.findSummariesByUserId(2501L));
+
+        // When
+        String plan = explain(sql);
+
+        // Then
+        assertTrue(plan.contains("IDX_RESULTS_USER_DATE"), plan);
+        assertFalse(plan.contains("SORT ORDER BY"), plan);
+        assertFalse(accesses(plan, "TABLE ACCESS", "RESULTS"), plan);
+    }
+
+    @Test
+    @DisplayName("Búsqueda filtrada - Rango de fechas y keyset sobre IDX_RESULTS_USER_DATE, sin ordenar")
+    void testResultSearchPlan() throws Exception {
+        // Given: SQL generado por ResultSearchRepositoryImpl con userId, status, from/to y cursor descendente,
+        // con la misma composición de Specification que ResultService.searchResults
+        ResultFilterDTO filter = new ResultFilterDTO(2501L, null, List.of("COMPLETADO", "REVISADO"), null,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        Specification<Result> specification = ResultSpecifications.matching(filter)
+            .and(ResultSpecifications.after(true, LocalDate.of(2024, 6, 30), 90_000L));
+        String sql = repositorySql.capture(repository -> repository.searchSummaries(specification, true, 51));
+
+        // When
+        String plan = explain(sql);
+
+        // Then
+        assertTrue(plan.contains("IDX_RESULTS_USER_DATE"), plan);
+        assertFalse(plan.contains("SORT ORDER BY"), plan);
+        assertFalse(accesses(plan, "TABLE ACCESS", "RESULTS"), plan);
+    }
+
+    @Test
+    @DisplayName("Borrado de laboratorio - Busca los resultados por IDX_RESULTS_LAB_ID")
+    void testResultsByLabPlan() throws Exception {
+        // When
+        String plan = explain("DELETE FROM RESULTS WHERE LAB_ID = 105");
+
+        // Then
+        assertTrue(plan.contains("IDX_RESULTS_LAB_ID"), plan);
+        assertFalse(accesses(plan, "TABLE ACCESS FULL", "RESULTS"), plan);
+    }
+
+    @Test
+    @DisplayName("Usuarios por rol - Solo lee IDX_USER_ROLES_ROLE_ID")
+    void testUsersByRolePlan() throws Exception {
+        // When
+        String plan = explain("SELECT ur.USER_ID FROM USER_ROLES ur JOIN ROLES r ON r.ID = ur.ROLE_ID "
+            + "WHERE r.NAME = 'MEDICO'");
+
+        // Then
+        assertTrue(plan.contains("IDX_USER_ROLES_ROLE_ID"), plan);
+        assertFalse(accesses(plan, "TABLE ACCESS", "USER_ROLES"), plan);
+    }
+
+    // Línea del plan con la operación (por ejemplo TABLE ACCESS BY INDEX ROWID) sobre la tabla
+    private static boolean accesses(String plan, String operation, String table) {
+        return plan.lines().anyMatch(line -> line.contains(operation) && line.matches(".*\\|\\s*" + table + "\\s*\\|.*"));
+    }
+
+    private static String explain(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("EXPLAIN PLAN FOR " + sql);
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY(NULL, NULL, 'BASIC'))")) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
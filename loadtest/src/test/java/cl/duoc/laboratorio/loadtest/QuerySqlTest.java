@@ -0,0 +1,164 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.model.Result;
+import cl.duoc.laboratorio.results_service.repository.ResultSpecifications;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del SQL que Hibernate genera para las consultas de resultados, sobre H2 en modo Oracle
+ * Cobertura: columnas, filtro y orden compatibles con IDX_RESULTS_USER_DATE + EXPLAIN de H2 con los índices de las migraciones
+ *
+ * Corre en el build normal, sin Docker. No reemplaza a QueryPlanTest: H2 no reproduce el optimizador de Oracle
+ * (ordena aunque el índice ya entregue el orden y usa su propio índice para FK_RESULTS_LAB), así que aquí se
+ * verifica que el SQL permite el plan esperado, no el plan que elige Oracle.
+ */
+class QuerySqlTest {
+
+    private static final String URL = "jdbc:h2:mem:loadtest-sql;MODE=Oracle;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final Pattern RESULTS_COLUMN = Pattern.compile("\\br1_0\\.(\\w+)");
+
+    private static Connection connection;
+    private static RepositorySql repositorySql;
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        LoadTestDatabase.create(URL, new DataSet(100, 10, 2_000));
+        connection = DriverManager.getConnection(URL, LoadTestDatabase.USERNAME, "");
+        repositorySql = new RepositorySql(new DriverManagerDataSource(URL, LoadTestDatabase.USERNAME, ""));
+    }
+
+    @AfterAll
+    static void closeDatabase() throws Exception {
+        repositorySql.close();
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Índice - IDX_RESULTS_USER_DATE empieza por USER_ID, RESULT_DATE DESC e ID DESC")
+    void testUserDateIndexColumns() throws Exception {
+        // When
+        List<String> columns = indexColumns("IDX_RESULTS_USER_DATE");
+
+        // Then: el orden de las consultas de abajo depende de estas tres columnas
+        assertEquals(List.of("USER_ID ASC", "RESULT_DATE DESC", "ID DESC"), columns.subList(0, 3));
+    }
+
+    @Test
+    @DisplayName("Historial del paciente - Filtra por USER_ID, ordena como el índice y solo lee columnas del índice")
+    void testPatientHistorySql() throws Exception {
+        // Given: SQL generado por ResultRepository.findSummariesByUserId
+        String sql = repositorySql.capture(repository -> repository.findSummariesByUserId(2501L));
+
+        // When
+        String plan = explain(bind(sql, "2501"));
+
+        // Then
+        assertTrue(sql.contains("where r1_0.USER_ID=:p1 "), sql);
+        assertTrue(sql.endsWith("order by r1_0.RESULT_DATE desc,r1_0.ID desc"), sql);
+        assertCoveredByIndex(sql);
+        assertTrue(plan.contains("IDX_RESULTS_USER_DATE"), plan);
+    }
+
+    @Test
+    @DisplayName("Búsqueda filtrada - Keyset y orden sobre (RESULT_DATE, ID) con columnas del índice")
+    void testResultSearchSql() throws Exception {
+        // Given: la misma búsqueda que QueryPlanTest verifica en Oracle
+        ResultFilterDTO filter = new ResultFilterDTO(2501L, null, List.of("COMPLETADO", "REVISADO"), null,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        Specification<Result> specification = ResultSpecifications.matching(filter)
+            .and(ResultSpecifications.after(true, LocalDate.of(2024, 6, 30), 90_000L));
+        String sql = repositorySql.capture(repository -> repository.searchSummaries(specification, true, 51));
+
+        // When
+        String plan = explain(bind(sql, "2501", "'COMPLETADO'", "'REVISADO'", "DATE '2024-01-01'",
+            "DATE '2024-12-31'", "DATE '2024-06-30'", "DATE '2024-06-30'", "90000", "51"));
+
+        // Then: Criteria ordena por posición del SELECT; se resuelve a la columna
+        assertTrue(sql.contains("r1_0.USER_ID=:p1 "), sql);
+        assertTrue(sql.contains("(r1_0.RESULT_DATE<:p6 or r1_0.RESULT_DATE=:p7 and r1_0.ID<:p8)"), sql);
+        Matcher order = Pattern.compile("order by (\\d+) desc nulls first,(\\d+) desc fetch first :p9 rows only$").matcher(sql);
+        assertTrue(order.find(), sql);
+        List<String> select = selectColumns(sql);
+        assertEquals("r1_0.RESULT_DATE", select.get(Integer.parseInt(order.group(1)) - 1), sql);
+        assertEquals("r1_0.ID", select.get(Integer.parseInt(order.group(2)) - 1), sql);
+        assertCoveredByIndex(sql);
+        assertTrue(plan.contains("IDX_RESULTS_USER_DATE"), plan);
+    }
+
+    @Test
+    @DisplayName("Usuarios por rol - H2 usa IDX_USER_ROLES_ROLE_ID")
+    void testUsersByRolePlan() throws Exception {
+        // When
+        String plan = explain("SELECT ur.USER_ID FROM USER_ROLES ur JOIN ROLES r ON r.ID = ur.ROLE_ID "
+            + "WHERE r.NAME = 'MEDICO'");
+
+        // Then
+        assertTrue(plan.contains("IDX_USER_ROLES_ROLE_ID"), plan);
+    }
+
+    // Todas las columnas de RESULTS que usa la consulta están en el índice: Oracle no necesita leer la tabla
+    private static void assertCoveredByIndex(String sql) throws Exception {
+        List<String> indexed = indexColumns("IDX_RESULTS_USER_DATE").stream()
+            .map(column -> column.substring(0, column.indexOf(' ')))
+            .toList();
+        Matcher column = RESULTS_COLUMN.matcher(sql);
+        while (column.find()) {
+            assertTrue(indexed.contains(column.group(1)), column.group(1) + " no está en el índice: " + sql);
+        }
+    }
+
+    private static List<String> indexColumns(String index) throws Exception {
+        List<String> columns = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COLUMN_NAME, ORDERING_SPECIFICATION "
+                 + "FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE INDEX_NAME = '" + index + "' ORDER BY ORDINAL_POSITION")) {
+            while (resultSet.next()) {
+                columns.add(resultSet.getString(1) + " " + resultSet.getString(2));
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> selectColumns(String sql) {
+        return Arrays.asList(sql.substring("select ".length(), sql.indexOf(" from ")).split(","));
+    }
+
+    // Reemplaza :p1, :p2... por literales, de mayor a menor para que :p1 no afecte a :p10
+    private static String bind(String sql, String... values) {
+        String bound = sql;
+        for (int i = values.length; i >= 1; i--) {
+            bound = bound.replace(":p" + i, values[i - 1]);
+        }
+        return bound;
+    }
+
+    private static String explain(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package cl.duoc.laboratorio.loadtest;
+
+import cl.duoc.laboratorio.results_service.repository.ResultRepository;
+import cl.duoc.laboratorio.results_service.repository.ResultSearchRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * SQL que Hibernate genera para ResultRepository (consultas JPQL y el fragmento Criteria de búsqueda),
+ * capturado con un StatementInspector al ejecutar el repositorio real sobre la base indicada.
+ * Los parámetros quedan como marcadores ? y se reemplazan por :p1, :p2... para EXPLAIN PLAN.
+ */
+final class RepositorySql implements AutoCloseable {
+
+    private final List<String> statements = new ArrayList<>();
+    private final LocalContainerEntityManagerFactoryBean factoryBean;
+    private final TransactionTemplate readOnly;
+    private final ResultRepository repository;
+
+    RepositorySql(DataSource dataSource) {
+        StatementInspector inspector = sql -> {
+            statements.add(sql);
+            return sql;
+        };
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("cl.duoc.laboratorio.results_service.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // El esquema ya existe (schema_oracle.sql y migraciones): Hibernate no lo toca
+        factoryBean.setJpaPropertyMap(Map.of(
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.session_factory.statement_inspector", inspector));
+        factoryBean.afterPropertiesSet();
+
+        readOnly = new TransactionTemplate(new JpaTransactionManager(factoryBean.getObject()));
+        readOnly.setReadOnly(true);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(factoryBean.getObject());
+        // Fuera de Spring el fragmento de búsqueda no se detecta solo: se registra su implementación
+        repository = new JpaRepositoryFactory(entityManager).getRepository(ResultRepository.class,
+            RepositoryFragments.just(new ResultSearchRepositoryImpl(entityManager)));
+    }
+
+    // Ejecuta la llamada y retorna la única sentencia SQL que generó, con parámetros nombrados
+    String capture(Consumer<ResultRepository> call) {
+        statements.clear();
+        readOnly.executeWithoutResult(status -> call.accept(repository));
+        if (statements.size() != 1) {
+            throw new IllegalStateException("Se esperaba una sentencia SQL y se generaron " + statements.size() + ": " + statements);
+        }
+        return namedParameters(statements.get(0));
+    }
+
+    static String namedParameters(String sql) {
+        StringBuilder named = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                named.append(":p").append(++parameter);
+            } else {
+                named.append(c);
+            }
+        }
+        return named.toString();
+    }
+
+    @Override
+    public void close() {
+        factoryBean.destroy();
+    }
+}
@@ -0,0 +1,29 @@
+package cl.duoc.laboratorio.results_service.config;
+
+import cl.duoc.laboratorio.results_service.service.LabCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Invalidación manual del catálogo de laboratorios en DELETE /actuator/labcatalog.
+ * Normalmente no hace falta: LabChangeListener invalida por eventos y el TTL actúa de respaldo.
+ * No está en management.endpoints.web.exposure.include por defecto; se expone agregándolo a
+ * MANAGEMENT_ENDPOINTS, idealmente con management.server.port en un puerto interno.
+ */
+@Component
+@Endpoint(id = "labcatalog")
+@RequiredArgsConstructor
+public class LabCatalogEndpoint {
+
+    private final LabCatalog labCatalog;
+
+    @DeleteOperation
+    public Map<String, String> invalidate() {
+        labCatalog.invalidateAll();
+        return Map.of("message", "Catálogo de laboratorios invalidado");
+    }
+}
@@ -0,0 +1,46 @@
+package cl.duoc.laboratorio.results_service.config;
+
+import cl.duoc.laboratorio.results_service.exception.UnauthorizedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Clock;
+
+/**
+ * Exige un token de sesión válido en Authorization: Bearer cuando auth.token.enforce=true.
+ * Desactivado por defecto para no romper clientes que aún no envían el token.
+ */
+@Component
+public class TokenAuthInterceptor implements HandlerInterceptor {
+
+    public static final String CLAIMS_ATTRIBUTE = "authTokenClaims";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final boolean enforce;
+
+    public TokenAuthInterceptor(@Value("${auth.token.secret:}") String secret,
+                                @Value("${auth.token.enforce:false}") boolean enforce) {
+        // Con la validación desactivada no se exige secreto
+        this.tokenVerifier = enforce ? new TokenVerifier(secret, Clock.systemUTC()) : null;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enforce || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new UnauthorizedException("Token no informado");
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim()));
+        return true;
+    }
+}
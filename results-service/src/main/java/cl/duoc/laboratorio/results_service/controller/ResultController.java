@@ -1,32 +1,58 @@
 package cl.duoc.laboratorio.results_service.controller;
 
 import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultPageDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultRequestDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.service.EntityTag;
 import cl.duoc.laboratorio.results_service.service.LabService;
 import cl.duoc.laboratorio.results_service.service.ResultService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/results")
 @RequiredArgsConstructor
 public class ResultController {
 
+    // Cada cuántas líneas se vacía el buffer hacia el cliente durante la exportación
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final ResultService resultService;
     private final LabService labService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/labs")
-    public ResponseEntity<List<LabDTO>> getAllLabs() {
+    public ResponseEntity<List<LabDTO>> getAllLabs(WebRequest request) {
+        // El ETag sale del catálogo en memoria: un 304 no toca la base de datos
+        String etag = labService.getLabsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<LabDTO> labs = labService.getAllLabs();
-        return ResponseEntity.ok(labs);
+        return ResponseEntity.ok().eTag(etag).body(labs);
     }
 
     @PostMapping
@@ -35,15 +61,84 @@ public class ResultController {
         return new ResponseEntity<>(createdResult, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ResultBatchResponseDTO> createResultsBatch(@RequestBody List<ResultRequestDTO> requests) {
+        // La validación es por elemento: los inválidos se informan por índice sin rechazar el lote completo
+        ResultBatchResponseDTO response = resultService.createResultsBatch(requests);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<ResultResponseDTO>> getAllResults() {
         List<ResultResponseDTO> results = resultService.getAllResults();
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ResultPageDTO<ResultResponseDTO>> getResultsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ResultPageDTO<ResultResponseDTO> page = resultService.getResultsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<ResultPageDTO<ResultSummaryDTO>> getResultSummariesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ResultPageDTO<ResultSummaryDTO> page = resultService.getResultSummariesPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ResultPageDTO<ResultSummaryDTO>> searchResults(
+            @ModelAttribute ResultFilterDTO filter,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ResultPageDTO<ResultSummaryDTO> page = resultService.searchResults(filter, order, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportResults() {
+        ObjectWriter writer = objectMapper.writerFor(ResultResponseDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Las líneas se separan con '\n' explícito, sin el separador por defecto entre valores
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                resultService.exportResults(result -> {
+                    try {
+                        writer.writeValue(generator, result);
+                        generator.writeRaw('\n');
+                        // La primera línea sale de inmediato; luego se vacía por bloques
+                        if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ResultResponseDTO> getResultById(@PathVariable Long id) {
+    public ResponseEntity<ResultResponseDTO> getResultById(@PathVariable Long id, WebRequest request, HttpServletResponse response) {
+        Optional<String> etag = resultService.getResultEtag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+        // checkNotModified ya escribió el ETag de la consulta de versión; se reemplaza por el de la fila
+        // devuelta, así ETag y cuerpo coinciden aunque el registro haya cambiado entre ambas lecturas
         ResultResponseDTO result = resultService.getResultById(id);
+        response.setHeader(HttpHeaders.ETAG, EntityTag.format(id, result.getVersion()));
         return ResponseEntity.ok(result);
     }
 
@@ -53,12 +148,22 @@ public class ResultController {
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/by-user/{userId}/summary")
+    public ResponseEntity<List<ResultSummaryDTO>> getResultSummariesByUserId(@PathVariable Long userId) {
+        List<ResultSummaryDTO> results = resultService.getResultSummariesByUserId(userId);
+        return ResponseEntity.ok(results);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResultResponseDTO> updateResult(
             @PathVariable Long id,
-            @Valid @RequestBody ResultRequestDTO requestDTO) {
-        ResultResponseDTO updatedResult = resultService.updateResult(id, requestDTO);
-        return ResponseEntity.ok(updatedResult);
+            @Valid @RequestBody ResultRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Sin If-Match responde 428: el UPDATE siempre compara la versión
+        long expectedVersion = EntityTag.expectedVersion(id, ifMatch);
+        ResultResponseDTO updatedResult = resultService.updateResult(id, requestDTO, expectedVersion);
+        // La nueva versión es conocida sin releer la fila
+        return ResponseEntity.ok().eTag(EntityTag.format(id, updatedResult.getVersion())).body(updatedResult);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,14 @@
+package cl.duoc.laboratorio.results_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultBatchErrorDTO {
+
+    private int index;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package cl.duoc.laboratorio.results_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultBatchResponseDTO {
+
+    private int received;
+    private int inserted;
+    private List<ResultBatchErrorDTO> errors;
+}
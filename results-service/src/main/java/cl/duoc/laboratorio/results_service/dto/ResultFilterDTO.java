@@ -0,0 +1,30 @@
+package cl.duoc.laboratorio.results_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtros de GET /api/results/search. Todos son opcionales y se combinan con AND;
+ * status admite varios valores (status=COMPLETADO&status=REVISADO) y el rango de fechas es inclusivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultFilterDTO {
+
+    private Long userId;
+    private Long labId;
+    private List<String> status;
+    private String testType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
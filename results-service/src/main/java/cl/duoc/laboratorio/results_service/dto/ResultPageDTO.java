@@ -0,0 +1,17 @@
+package cl.duoc.laboratorio.results_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private int size;
+}
@@ -19,4 +19,6 @@ public class ResultResponseDTO {
     private String valueJson;
     private String status;
     private LocalDate resultDate;
+    // Versión de la fila: la misma que forma el ETag "id-versión"
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package cl.duoc.laboratorio.results_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Vista resumida de un resultado para listados: no incluye VALUE_JSON,
+ * que se obtiene solo en el detalle GET /api/results/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultSummaryDTO {
+
+    private Long id;
+    private Long userId;
+    private Long labId;
+    private String labName;
+    private String testType;
+    private String status;
+    private LocalDate resultDate;
+}
@@ -14,10 +14,16 @@ public class Lab {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lab_seq")
-    @SequenceGenerator(name = "lab_seq", sequenceName = "LABS_SEQ", allocationSize = 1)
+    // Debe coincidir con labs-service, que es quien inserta en LABS (LABS_SEQ incrementa de a 50)
+    @SequenceGenerator(name = "lab_seq", sequenceName = "LABS_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
     @Column(name = "NAME", nullable = false, length = 100)
     private String name;
+
+    // La incrementa labs-service en cada UPDATE; el catálogo la usa para el ETag de /api/results/labs
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
 }
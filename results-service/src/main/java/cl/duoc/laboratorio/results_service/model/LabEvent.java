@@ -0,0 +1,35 @@
+package cl.duoc.laboratorio.results_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de laboratorio publicado por labs-service en LAB_EVENTS.
+ * Este servicio solo lo lee.
+ */
+@Entity
+@Immutable
+@Table(name = "LAB_EVENTS")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabEvent {
+
+    @Id
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "LAB_ID", nullable = false)
+    private Long labId;
+
+    @Column(name = "EVENT_TYPE", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -16,7 +16,8 @@ public class Result {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "result_seq")
-    @SequenceGenerator(name = "result_seq", sequenceName = "RESULTS_SEQ", allocationSize = 1)
+    // RESULTS_SEQ incrementa de a 50: un NEXTVAL reserva un bloque de IDs (optimizador pooled)
+    @SequenceGenerator(name = "result_seq", sequenceName = "RESULTS_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
@@ -39,7 +40,12 @@ public class Result {
     @Column(name = "RESULT_DATE")
     private LocalDate resultDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Control optimista: Hibernate la incrementa en cada UPDATE
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "LAB_ID", insertable = false, updatable = false)
     private Lab lab;
 }
@@ -0,0 +1,18 @@
+package cl.duoc.laboratorio.results_service.repository;
+
+import cl.duoc.laboratorio.results_service.model.LabEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LabEventRepository extends JpaRepository<LabEvent, Long> {
+
+    List<LabEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from LabEvent e")
+    Long findLatestId();
+}
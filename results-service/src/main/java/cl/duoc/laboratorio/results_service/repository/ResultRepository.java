@@ -1,13 +1,73 @@
 package cl.duoc.laboratorio.results_service.repository;
 
+import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
 import cl.duoc.laboratorio.results_service.model.Result;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ResultRepository extends JpaRepository<Result, Long> {
+public interface ResultRepository extends JpaRepository<Result, Long>, ResultSearchRepository {
 
-    List<Result> findByUserId(Long userId);
+    // Proyección a DTO: una sola sentencia SQL con el nombre del laboratorio, sin entidades administradas
+    String RESPONSE_PROJECTION = "select new cl.duoc.laboratorio.results_service.dto.ResultResponseDTO("
+        + "r.id, r.userId, r.labId, l.name, r.testType, r.valueJson, r.status, r.resultDate, r.version) "
+        + "from Result r left join r.lab l ";
+
+    // Proyección resumida para listados: omite el CLOB VALUE_JSON
+    String SUMMARY_PROJECTION = "select new cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO("
+        + "r.id, r.userId, r.labId, l.name, r.testType, r.status, r.resultDate) "
+        + "from Result r left join r.lab l ";
+
+    @Query(RESPONSE_PROJECTION + "order by r.id")
+    List<ResultResponseDTO> findAllResponses();
+
+    @Query(RESPONSE_PROJECTION + "where r.id = :id")
+    Optional<ResultResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query("select r.version from Result r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * UPDATE directo, sin SELECT previo, solo cuando la versión coincide.
+     * Retorna las filas modificadas (0 o 1).
+     */
+    @Modifying
+    @Query("update Result r set r.userId = :#{#result.userId}, r.labId = :#{#result.labId}, "
+        + "r.testType = :#{#result.testType}, r.valueJson = :#{#result.valueJson}, "
+        + "r.status = :#{#result.status}, r.resultDate = :#{#result.resultDate}, r.version = r.version + 1 "
+        + "where r.id = :id and r.version = :version")
+    int updateFields(@Param("id") Long id, @Param("result") Result result, @Param("version") Long version);
+
+    @Query(RESPONSE_PROJECTION + "where r.userId = :userId order by r.id")
+    List<ResultResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Paginación keyset: siguiente bloque de resultados a partir del último ID entregado
+    @Query(RESPONSE_PROJECTION + "where r.id > :afterId order by r.id")
+    List<ResultResponseDTO> findResponsesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_PROJECTION + "where r.userId = :userId order by r.resultDate desc, r.id desc")
+    List<ResultSummaryDTO> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY_PROJECTION + "where r.id > :afterId order by r.id")
+    List<ResultSummaryDTO> findSummariesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // Recorrido completo con cursor de BD para exportaciones; debe consumirse dentro de una transacción
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "order by r.id")
+    Stream<ResultResponseDTO> streamAllResponses();
 }
@@ -0,0 +1,20 @@
+package cl.duoc.laboratorio.results_service.repository;
+
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.model.Result;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Búsqueda dinámica de resultados (ver ResultSpecifications), implementada con Criteria en
+ * ResultSearchRepositoryImpl e incluida en ResultRepository.
+ */
+public interface ResultSearchRepository {
+
+    /**
+     * Resúmenes que cumplen la especificación, ordenados por RESULT_DATE e ID en la dirección
+     * indicada (NULL como valor más alto) y limitados en SQL a limit filas.
+     */
+    List<ResultSummaryDTO> searchSummaries(Specification<Result> specification, boolean descending, int limit);
+}
@@ -0,0 +1,49 @@
+package cl.duoc.laboratorio.results_service.repository;
+
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.model.Result;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ResultSearchRepositoryImpl implements ResultSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ResultSummaryDTO> searchSummaries(Specification<Result> specification, boolean descending, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<ResultSummaryDTO> query = cb.createQuery(ResultSummaryDTO.class);
+        Root<Result> root = query.from(Result.class);
+        Join<Result, Lab> lab = root.join("lab", JoinType.LEFT);
+
+        // Misma proyección que SUMMARY_PROJECTION: sin VALUE_JSON
+        query.select(cb.construct(ResultSummaryDTO.class,
+            root.get(ResultSpecifications.ID), root.get(ResultSpecifications.USER_ID),
+            root.get(ResultSpecifications.LAB_ID), lab.get("name"), root.get(ResultSpecifications.TEST_TYPE),
+            root.get(ResultSpecifications.STATUS), root.get(ResultSpecifications.RESULT_DATE)));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // NULLS FIRST en DESC y NULLS LAST en ASC es el orden por defecto de Oracle, el mismo del índice
+        query.orderBy(descending
+            ? List.of(cb.desc(root.get(ResultSpecifications.RESULT_DATE), true), cb.desc(root.get(ResultSpecifications.ID)))
+            : List.of(cb.asc(root.get(ResultSpecifications.RESULT_DATE), false), cb.asc(root.get(ResultSpecifications.ID))));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
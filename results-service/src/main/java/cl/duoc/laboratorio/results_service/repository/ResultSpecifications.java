@@ -0,0 +1,73 @@
+package cl.duoc.laboratorio.results_service.repository;
+
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.model.Result;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Condiciones de búsqueda de resultados que se traducen a SQL; un filtro ausente no agrega condición.
+ * Con userId, el filtro por fecha y el orden por RESULT_DATE, ID usan IDX_RESULTS_USER_DATE.
+ */
+public final class ResultSpecifications {
+
+    static final String ID = "id";
+    static final String USER_ID = "userId";
+    static final String LAB_ID = "labId";
+    static final String STATUS = "status";
+    static final String TEST_TYPE = "testType";
+    static final String RESULT_DATE = "resultDate";
+
+    private ResultSpecifications() {
+    }
+
+    public static Specification<Result> matching(ResultFilterDTO filter) {
+        List<Specification<Result>> specifications = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get(USER_ID), filter.getUserId()));
+        }
+        if (filter.getLabId() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get(LAB_ID), filter.getLabId()));
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            specifications.add((root, query, cb) -> root.get(STATUS).in(filter.getStatus()));
+        }
+        if (filter.getTestType() != null && !filter.getTestType().isBlank()) {
+            specifications.add((root, query, cb) -> cb.equal(root.get(TEST_TYPE), filter.getTestType()));
+        }
+        if (filter.getFrom() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(RESULT_DATE), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specifications.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get(RESULT_DATE), filter.getTo()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Resultados posteriores a (resultDate, id) en el orden de la búsqueda. Como en Oracle, un
+     * RESULT_DATE nulo cuenta como el valor más alto: va primero en orden descendente y al final
+     * en orden ascendente.
+     */
+    public static Specification<Result> after(boolean descending, LocalDate resultDate, Long id) {
+        return (root, query, cb) -> {
+            Path<LocalDate> date = root.get(RESULT_DATE);
+            Path<Long> resultId = root.get(ID);
+            if (descending) {
+                if (resultDate == null) {
+                    return cb.or(cb.and(cb.isNull(date), cb.lessThan(resultId, id)), cb.isNotNull(date));
+                }
+                return cb.or(cb.lessThan(date, resultDate), cb.and(cb.equal(date, resultDate), cb.lessThan(resultId, id)));
+            }
+            if (resultDate == null) {
+                return cb.and(cb.isNull(date), cb.greaterThan(resultId, id));
+            }
+            return cb.or(cb.greaterThan(date, resultDate), cb.and(cb.equal(date, resultDate), cb.greaterThan(resultId, id)),
+                cb.isNull(date));
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package cl.duoc.laboratorio.results_service.service;
+
+import cl.duoc.laboratorio.results_service.exception.PreconditionFailedException;
+import cl.duoc.laboratorio.results_service.exception.PreconditionRequiredException;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * ETag fuerte por entidad con la forma "id-versión".
+ * En un PUT, If-Match es obligatorio y se traduce a la versión esperada del UPDATE condicional.
+ */
+public final class EntityTag {
+
+    private EntityTag() {
+    }
+
+    public static String format(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * ETag de una colección: cantidad y SHA-256 de los pares (id, versión), que deben venir ordenados por ID.
+     * Cualquier alta, baja o modificación cambia el resumen, aunque la cantidad, el mayor ID o la suma
+     * de versiones coincidan. labs-service y results-service lo calculan igual para la lista de laboratorios.
+     */
+    public static <T> String ofCollection(List<T> items, ToLongFunction<T> id, ToLongFunction<T> version) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+        ByteBuffer pair = ByteBuffer.allocate(2 * Long.BYTES);
+        for (T item : items) {
+            pair.clear();
+            pair.putLong(id.applyAsLong(item)).putLong(version.applyAsLong(item));
+            digest.update(pair.array());
+        }
+        // 64 bits del resumen bastan para distinguir versiones de una misma colección
+        return "\"" + items.size() + "-" + HexFormat.of().formatHex(digest.digest(), 0, Long.BYTES) + "\"";
+    }
+
+    /**
+     * Versión esperada según If-Match. Sin encabezado (o con "*", que no indica versión) lanza
+     * PreconditionRequiredException: un PUT sin versión podría sobrescribir un cambio ajeno.
+     * Lanza PreconditionFailedException si ninguna etiqueta corresponde al recurso.
+     */
+    public static long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            throw new PreconditionRequiredException("Se requiere If-Match con el ETag del recurso " + id
+                + " (obtenido con GET) para actualizarlo");
+        }
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            // If-Match usa comparación fuerte: una etiqueta débil (W/) nunca coincide
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException ex) {
+                    // Etiqueta ajena: se sigue con la siguiente
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match no corresponde a la versión actual del recurso " + id);
+    }
+}
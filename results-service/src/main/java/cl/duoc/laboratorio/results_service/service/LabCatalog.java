@@ -0,0 +1,136 @@
+package cl.duoc.laboratorio.results_service.service;
+
+import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.repository.LabRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catálogo de laboratorios en memoria.
+ * La tabla LABS es pequeña y casi no cambia, así que las validaciones de labId
+ * y la búsqueda de nombres se resuelven sin ir a la base de datos.
+ * Las entradas expiran según labs.catalog.ttl y pueden invalidarse explícitamente.
+ * Aciertos, fallos y cargas se publican como métricas cache.* con la etiqueta cache=labCatalog
+ * (búsquedas por ID) y cache=labCatalogAll (lista completa).
+ */
+@Component
+public class LabCatalog implements MeterBinder {
+
+    private static final String ALL_LABS_KEY = "ALL";
+
+    private final LoadingCache<Long, LabDTO> labsById;
+    private final LoadingCache<String, LabList> allLabs;
+
+    public LabCatalog(LabRepository labRepository,
+                      @Value("${labs.catalog.ttl:5m}") Duration ttl,
+                      @Value("${labs.catalog.max-size:1000}") long maxSize) {
+        // Un ID inexistente no se guarda (el loader retorna null), así un laboratorio nuevo se ve de inmediato
+        this.labsById = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build(new CacheLoader<>() {
+                @Override
+                public LabDTO load(Long id) {
+                    return labRepository.findById(id)
+                        .map(lab -> new LabDTO(lab.getId(), lab.getName()))
+                        .orElse(null);
+                }
+
+                // Los IDs que faltan en caché se resuelven con una sola consulta IN
+                @Override
+                public Map<Long, LabDTO> loadAll(Set<? extends Long> ids) {
+                    return labRepository.findAllById(List.copyOf(ids)).stream()
+                        .map(lab -> new LabDTO(lab.getId(), lab.getName()))
+                        .collect(Collectors.toMap(LabDTO::getId, Function.identity()));
+                }
+            });
+
+        this.allLabs = Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build(key -> {
+                List<Lab> entities = labRepository.findAll();
+                List<LabDTO> labs = entities.stream()
+                    .map(lab -> new LabDTO(lab.getId(), lab.getName()))
+                    .toList();
+                // La carga completa también precalienta las búsquedas por ID
+                labs.forEach(lab -> labsById.put(lab.getId(), lab));
+                return new LabList(labs, etagOf(entities));
+            });
+    }
+
+    public Optional<LabDTO> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(labsById.get(id));
+    }
+
+    /**
+     * Busca varios laboratorios a la vez. Los IDs inexistentes no aparecen en el mapa.
+     */
+    public Map<Long, LabDTO> findAllByIds(Collection<Long> ids) {
+        List<Long> keys = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        return labsById.getAll(keys);
+    }
+
+    public List<LabDTO> getAllLabs() {
+        return allLabs.get(ALL_LABS_KEY).labs();
+    }
+
+    /**
+     * ETag de la lista completa, calculado una vez por carga del catálogo.
+     * Usa la misma fórmula que GET /api/labs en labs-service (EntityTag.ofCollection).
+     */
+    public String getAllLabsEtag() {
+        return allLabs.get(ALL_LABS_KEY).etag();
+    }
+
+    public void invalidate(Long id) {
+        labsById.invalidate(id);
+        allLabs.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        labsById.invalidateAll();
+        allLabs.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, labsById, "labCatalog");
+        CaffeineCacheMetrics.monitor(registry, allLabs, "labCatalogAll");
+    }
+
+    static String etagOf(List<Lab> labs) {
+        // findAll no garantiza orden; el resumen se calcula por ID igual que en labs-service
+        List<Lab> byId = labs.stream().sorted(Comparator.comparing(Lab::getId)).toList();
+        return EntityTag.ofCollection(byId, Lab::getId, lab -> lab.getVersion() == null ? 0 : lab.getVersion());
+    }
+
+    private record LabList(List<LabDTO> labs, String etag) {
+    }
+}
@@ -0,0 +1,144 @@
+package cl.duoc.laboratorio.results_service.service;
+
+import cl.duoc.laboratorio.results_service.model.LabEvent;
+import cl.duoc.laboratorio.results_service.repository.LabEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consulta periódicamente el outbox LAB_EVENTS que escribe labs-service
+ * e invalida en LabCatalog solo los laboratorios que cambiaron.
+ * Los IDs salen de una secuencia pero se confirman en cualquier orden: un ID menor puede aparecer
+ * después de uno mayor ya leído. Por eso los huecos (también los que existen al iniciar) se recuerdan
+ * y se vuelven a consultar hasta que aparecen o vence labs.events.gap-timeout (los que nunca aparecen son IDs descartados por
+ * la caché de la secuencia o de transacciones revertidas).
+ * El TTL del catálogo sigue actuando como respaldo si se pierde algún evento.
+ */
+@Slf4j
+@Component
+public class LabChangeListener {
+
+    private static final int BATCH_SIZE = 500;
+    // Un salto mayor no es concurrencia sino un salto de la secuencia (caché perdida al reiniciar Oracle)
+    static final int MAX_TRACKED_GAP = 1000;
+
+    private final LabEventRepository labEventRepository;
+    private final LabCatalog labCatalog;
+    private final Duration gapTimeout;
+    private final Clock clock;
+
+    private Long lastEventId;
+    // IDs aún no vistos bajo lastEventId, con el momento en que se detectó el hueco
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+
+    @Autowired
+    public LabChangeListener(LabEventRepository labEventRepository,
+                             LabCatalog labCatalog,
+                             @Value("${labs.events.gap-timeout:1m}") Duration gapTimeout) {
+        this(labEventRepository, labCatalog, gapTimeout, Clock.systemUTC());
+    }
+
+    LabChangeListener(LabEventRepository labEventRepository, LabCatalog labCatalog, Duration gapTimeout, Clock clock) {
+        this.labEventRepository = labEventRepository;
+        this.labCatalog = labCatalog;
+        this.gapTimeout = gapTimeout;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${labs.events.poll-interval:5s}")
+    public void pollLabEvents() {
+        try {
+            if (lastEventId == null) {
+                // Al iniciar se parte desde el último evento: el catálogo aún está vacío.
+                // Los IDs menores que faltan pueden ser transacciones aún sin confirmar, así que quedan como huecos
+                long latestId = labEventRepository.findLatestId();
+                seedGaps(latestId, clock.instant());
+                lastEventId = latestId;
+                labCatalog.invalidateAll();
+                return;
+            }
+
+            // Se relee desde el hueco más antiguo; los eventos ya procesados se descartan
+            long fromId = gaps.isEmpty() ? lastEventId : Math.min(gaps.firstKey() - 1, lastEventId);
+            Instant now = clock.instant();
+            int processed = 0;
+            List<LabEvent> events;
+            do {
+                events = labEventRepository.findByIdGreaterThanOrderByIdAsc(fromId, Limit.of(BATCH_SIZE));
+                for (LabEvent event : events) {
+                    if (accept(event.getId(), now)) {
+                        labCatalog.invalidate(event.getLabId());
+                        processed++;
+                    }
+                    fromId = event.getId();
+                }
+            } while (events.size() == BATCH_SIZE);
+
+            gaps.values().removeIf(detectedAt -> detectedAt.plus(gapTimeout).isBefore(now));
+            if (processed > 0) {
+                log.debug("Eventos de laboratorio procesados: {} (último id {}, huecos pendientes {})",
+                    processed, lastEventId, gaps.size());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron leer los eventos de laboratorio: {}", ex.getMessage());
+        }
+    }
+
+    // Registra como huecos los IDs ausentes entre los MAX_TRACKED_GAP anteriores a latestId.
+    // Los que la purga de labs-service ya borró también quedan, y se descartan al vencer el plazo
+    private void seedGaps(long latestId, Instant now) {
+        long fromId = Math.max(0, latestId - MAX_TRACKED_GAP - 1);
+        long expected = fromId + 1;
+        List<LabEvent> events;
+        do {
+            events = labEventRepository.findByIdGreaterThanOrderByIdAsc(fromId, Limit.of(BATCH_SIZE));
+            for (LabEvent event : events) {
+                if (event.getId() > latestId) {
+                    break;
+                }
+                for (long missing = expected; missing < event.getId(); missing++) {
+                    gaps.put(missing, now);
+                }
+                expected = event.getId() + 1;
+                fromId = event.getId();
+            }
+        } while (events.size() == BATCH_SIZE && fromId < latestId);
+        for (long missing = expected; missing < latestId; missing++) {
+            gaps.put(missing, now);
+        }
+    }
+
+    // true si el evento no se había procesado; registra los huecos que deja un ID nuevo
+    private boolean accept(long eventId, Instant now) {
+        if (eventId <= lastEventId) {
+            return gaps.remove(eventId) != null;
+        }
+        if (eventId - lastEventId - 1 <= MAX_TRACKED_GAP) {
+            for (long missing = lastEventId + 1; missing < eventId; missing++) {
+                gaps.put(missing, now);
+            }
+        }
+        lastEventId = eventId;
+        return true;
+    }
+
+    Long getLastEventId() {
+        return lastEventId;
+    }
+
+    int getPendingGaps() {
+        return gaps.size();
+    }
+}
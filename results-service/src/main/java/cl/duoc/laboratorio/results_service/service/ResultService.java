@@ -1,94 +1,337 @@
 package cl.duoc.laboratorio.results_service.service;
 
+import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchErrorDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultPageDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultRequestDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.results_service.exception.ResourceNotFoundException;
-import cl.duoc.laboratorio.results_service.model.Lab;
 import cl.duoc.laboratorio.results_service.model.Result;
-import cl.duoc.laboratorio.results_service.repository.LabRepository;
 import cl.duoc.laboratorio.results_service.repository.ResultRepository;
+import cl.duoc.laboratorio.results_service.repository.ResultSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ResultService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 5000;
+    // Coincide con hibernate.jdbc.batch_size y con el allocationSize de RESULTS_SEQ
+    static final int BATCH_CHUNK_SIZE = 50;
+    // Restricciones de RESULTS (schema_oracle.sql) que se traducen a un error por elemento
+    static final String USER_FOREIGN_KEY = "FK_RESULTS_USER";
+    static final String LAB_FOREIGN_KEY = "FK_RESULTS_LAB";
+    // Largo de las columnas VARCHAR2 de RESULTS (en bytes con la semántica por defecto de Oracle)
+    static final int TEST_TYPE_MAX_BYTES = 100;
+    static final int STATUS_MAX_BYTES = 50;
+
     private final ResultRepository resultRepository;
-    private final LabRepository labRepository;
+    private final LabCatalog labCatalog;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public ResultResponseDTO createResult(ResultRequestDTO requestDTO) {
-        Lab lab = labRepository.findById(requestDTO.getLabId())
+        LabDTO lab = labCatalog.findById(requestDTO.getLabId())
             .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con id: " + requestDTO.getLabId()));
 
-        Result result = new Result();
-        result.setUserId(requestDTO.getUserId());
-        result.setLabId(requestDTO.getLabId());
-        result.setTestType(requestDTO.getTestType());
-        result.setValueJson(requestDTO.getValueJson());
-        result.setStatus(requestDTO.getStatus());
-        result.setResultDate(requestDTO.getResultDate());
+        Result savedResult = resultRepository.save(toEntity(requestDTO));
+        return mapToResponseDTO(savedResult, lab.getName());
+    }
+
+    /**
+     * Sin transacción propia: cada bloque de BATCH_CHUNK_SIZE se confirma en la suya, así un error de
+     * la base de datos solo revierte ese bloque, que luego se reintenta fila por fila.
+     */
+    public ResultBatchResponseDTO createResultsBatch(List<ResultRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("El lote de resultados no puede estar vacío");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("El lote no puede superar " + MAX_BATCH_SIZE + " resultados");
+        }
 
-        Result savedResult = resultRepository.save(result);
-        return mapToResponseDTO(savedResult);
+        // Todos los labId del lote se validan juntos: una sola consulta para los que no están en caché
+        Map<Long, LabDTO> labs = labCatalog.findAllByIds(requests.stream()
+            .filter(request -> request != null && request.getLabId() != null)
+            .map(ResultRequestDTO::getLabId)
+            .toList());
+        // Los userId no se consultan: USERS pertenece a user-service y FK_RESULTS_USER los valida al insertar
+
+        List<ResultBatchErrorDTO> errors = new ArrayList<>();
+        // Índices dentro del lote de los elementos válidos que aún no se insertan
+        List<Integer> pending = new ArrayList<>(BATCH_CHUNK_SIZE);
+        int inserted = 0;
+        for (int index = 0; index < requests.size(); index++) {
+            String error = validateBatchItem(requests.get(index), labs);
+            if (error != null) {
+                errors.add(new ResultBatchErrorDTO(index, error));
+                continue;
+            }
+            pending.add(index);
+            if (pending.size() == BATCH_CHUNK_SIZE) {
+                inserted += insertChunk(requests, pending, errors);
+                pending = new ArrayList<>(BATCH_CHUNK_SIZE);
+            }
+        }
+        if (!pending.isEmpty()) {
+            inserted += insertChunk(requests, pending, errors);
+        }
+        // Los errores del reintento fila por fila llegan después de los de validación
+        errors.sort(Comparator.comparingInt(ResultBatchErrorDTO::getIndex));
+        return new ResultBatchResponseDTO(requests.size(), inserted, errors);
     }
 
     @Transactional(readOnly = true)
     public List<ResultResponseDTO> getAllResults() {
-        List<Result> results = resultRepository.findAll();
-        return results.stream()
-            .map(this::mapToResponseDTO)
-            .collect(Collectors.toList());
+        return resultRepository.findAllResponses();
+    }
+
+    @Transactional(readOnly = true)
+    public ResultPageDTO<ResultResponseDTO> getResultsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<ResultResponseDTO> results = resultRepository.findResponsesAfterId(decodeCursor(cursor), Limit.of(pageSize + 1));
+        return toPage(results, pageSize, result -> CursorCodec.encode(result.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResultPageDTO<ResultSummaryDTO> getResultSummariesPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<ResultSummaryDTO> results = resultRepository.findSummariesAfterId(decodeCursor(cursor), Limit.of(pageSize + 1));
+        return toPage(results, pageSize, result -> CursorCodec.encode(result.getId()));
+    }
+
+    /**
+     * Búsqueda filtrada con paginación keyset por (RESULT_DATE, ID). Filtros, orden y límite se
+     * resuelven en Oracle: solo salen de la base de datos las filas de la página (más una).
+     * El cursor guarda el orden con que se generó y no se acepta con el orden contrario.
+     */
+    @Transactional(readOnly = true)
+    public ResultPageDTO<ResultSummaryDTO> searchResults(ResultFilterDTO filter, String order, String cursor, Integer size) {
+        boolean descending = resolveDescending(order);
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+        int pageSize = resolvePageSize(size);
+
+        Specification<Result> specification = ResultSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(decodeSearchCursor(cursor, descending));
+        }
+        List<ResultSummaryDTO> results = resultRepository.searchSummaries(specification, descending, pageSize + 1);
+        return toPage(results, pageSize,
+            result -> CursorCodec.encode(descending ? "desc" : "asc", result.getResultDate(), result.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportResults(Consumer<ResultResponseDTO> consumer) {
+        long exported = 0;
+        // La proyección no crea entidades administradas, así que el heap se mantiene constante
+        try (Stream<ResultResponseDTO> results = resultRepository.streamAllResponses()) {
+            for (ResultResponseDTO result : (Iterable<ResultResponseDTO>) results::iterator) {
+                consumer.accept(result);
+                exported++;
+            }
+        }
+        return exported;
     }
 
     @Transactional(readOnly = true)
     public ResultResponseDTO getResultById(Long id) {
-        Result result = resultRepository.findById(id)
+        return resultRepository.findResponseById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Resultado no encontrado con id: " + id));
-        return mapToResponseDTO(result);
     }
 
     @Transactional(readOnly = true)
     public List<ResultResponseDTO> getResultsByUserId(Long userId) {
-        List<Result> results = resultRepository.findByUserId(userId);
-        return results.stream()
-            .map(this::mapToResponseDTO)
-            .collect(Collectors.toList());
+        return resultRepository.findResponsesByUserId(userId);
     }
 
-    @Transactional
-    public ResultResponseDTO updateResult(Long id, ResultRequestDTO requestDTO) {
-        Result result = resultRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Resultado no encontrado con id: " + id));
+    @Transactional(readOnly = true)
+    public List<ResultSummaryDTO> getResultSummariesByUserId(Long userId) {
+        return resultRepository.findSummariesByUserId(userId);
+    }
 
-        Lab lab = labRepository.findById(requestDTO.getLabId())
+    @Transactional(readOnly = true)
+    public Optional<String> getResultEtag(Long id) {
+        return resultRepository.findVersionById(id).map(version -> EntityTag.format(id, version));
+    }
+
+    /**
+     * Actualiza con un UPDATE directo. expectedVersion viene de If-Match.
+     * El laboratorio se valida contra el catálogo en memoria, así que el único viaje a la BD es el UPDATE.
+     */
+    @Transactional
+    public ResultResponseDTO updateResult(Long id, ResultRequestDTO requestDTO, long expectedVersion) {
+        LabDTO lab = labCatalog.findById(requestDTO.getLabId())
             .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con id: " + requestDTO.getLabId()));
 
+        Result result = toEntity(requestDTO);
+        if (resultRepository.updateFields(id, result, expectedVersion) == 0) {
+            if (resultRepository.existsById(id)) {
+                throw new PreconditionFailedException("El resultado " + id + " fue modificado: la versión no coincide con If-Match");
+            }
+            throw new ResourceNotFoundException("Resultado no encontrado con id: " + id);
+        }
+        result.setId(id);
+        result.setVersion(expectedVersion + 1);
+        return mapToResponseDTO(result, lab.getName());
+    }
+
+    @Transactional
+    public void deleteResult(Long id) {
+        if (!resultRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Resultado no encontrado con id: " + id);
+        }
+        resultRepository.deleteById(id);
+    }
+
+    private String validateBatchItem(ResultRequestDTO request, Map<Long, LabDTO> labs) {
+        if (request == null) {
+            return "El resultado no puede ser nulo";
+        }
+        if (request.getUserId() == null) {
+            return "El ID del usuario es obligatorio";
+        }
+        if (request.getLabId() == null) {
+            return "El ID del laboratorio es obligatorio";
+        }
+        if (!labs.containsKey(request.getLabId())) {
+            return "Laboratorio no encontrado con id: " + request.getLabId();
+        }
+        if (exceedsBytes(request.getTestType(), TEST_TYPE_MAX_BYTES)) {
+            return "El tipo de examen no puede superar " + TEST_TYPE_MAX_BYTES + " bytes";
+        }
+        if (exceedsBytes(request.getStatus(), STATUS_MAX_BYTES)) {
+            return "El estado no puede superar " + STATUS_MAX_BYTES + " bytes";
+        }
+        return null;
+    }
+
+    private static boolean exceedsBytes(String value, int maxBytes) {
+        return value != null && value.getBytes(StandardCharsets.UTF_8).length > maxBytes;
+    }
+
+    private int insertChunk(List<ResultRequestDTO> requests, List<Integer> indexes, List<ResultBatchErrorDTO> errors) {
+        try {
+            insertInNewTransaction(indexes.stream().map(index -> toEntity(requests.get(index))).toList());
+            return indexes.size();
+        } catch (DataIntegrityViolationException ex) {
+            // Lo que la validación por elemento no detecta (un usuario inexistente, un laboratorio borrado
+            // durante el lote) revierte solo este bloque; cada fila se reintenta sola y se informan únicamente las que fallan
+            int inserted = 0;
+            for (int index : indexes) {
+                try {
+                    insertInNewTransaction(List.of(toEntity(requests.get(index))));
+                    inserted++;
+                } catch (DataIntegrityViolationException rowEx) {
+                    errors.add(new ResultBatchErrorDTO(index, describeViolation(requests.get(index), rowEx)));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    // Oracle (ORA-02291) y H2 incluyen el nombre de la restricción en el mensaje del error
+    private static String describeViolation(ResultRequestDTO request, DataIntegrityViolationException ex) {
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+        if (message.contains(USER_FOREIGN_KEY)) {
+            return "Usuario no encontrado con id: " + request.getUserId();
+        }
+        if (message.contains(LAB_FOREIGN_KEY)) {
+            return "Laboratorio no encontrado con id: " + request.getLabId();
+        }
+        return "El resultado no cumple una restricción de la base de datos";
+    }
+
+    private void insertInNewTransaction(List<Result> results) {
+        // saveAllAndFlush envía los INSERT como un solo batch JDBC y traduce los errores de la BD.
+        // Las entidades se crean de nuevo en cada intento: las de un intento revertido ya tienen ID asignado
+        transactionTemplate.executeWithoutResult(status -> resultRepository.saveAllAndFlush(results));
+    }
+
+    private Result toEntity(ResultRequestDTO requestDTO) {
+        Result result = new Result();
         result.setUserId(requestDTO.getUserId());
         result.setLabId(requestDTO.getLabId());
         result.setTestType(requestDTO.getTestType());
         result.setValueJson(requestDTO.getValueJson());
         result.setStatus(requestDTO.getStatus());
         result.setResultDate(requestDTO.getResultDate());
+        return result;
+    }
 
-        Result updatedResult = resultRepository.save(result);
-        return mapToResponseDTO(updatedResult);
+    private Long decodeCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? 0L : CursorCodec.decodeId(cursor);
     }
 
-    @Transactional
-    public void deleteResult(Long id) {
-        if (!resultRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Resultado no encontrado con id: " + id);
+    private boolean resolveDescending(String order) {
+        if ("desc".equalsIgnoreCase(order)) {
+            return true;
         }
-        resultRepository.deleteById(id);
+        if ("asc".equalsIgnoreCase(order)) {
+            return false;
+        }
+        throw new IllegalArgumentException("El orden debe ser asc o desc");
+    }
+
+    // Cursor de búsqueda: orden|fecha (vacía si es nula)|id
+    private Specification<Result> decodeSearchCursor(String cursor, boolean descending) {
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!parts[0].equals(descending ? "desc" : "asc")) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            LocalDate resultDate = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+            return ResultSpecifications.after(descending, resultDate, Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private <T> ResultPageDTO<T> toPage(List<T> results, int pageSize, Function<T, String> cursorOf) {
+        boolean hasMore = results.size() > pageSize;
+        List<T> items = hasMore ? results.subList(0, pageSize) : results;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new ResultPageDTO<>(items, nextCursor, pageSize);
     }
 
-    private ResultResponseDTO mapToResponseDTO(Result result) {
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private ResultResponseDTO mapToResponseDTO(Result result, String labName) {
         ResultResponseDTO dto = new ResultResponseDTO();
         dto.setId(result.getId());
         dto.setUserId(result.getUserId());
@@ -97,11 +340,8 @@ public class ResultService {
         dto.setValueJson(result.getValueJson());
         dto.setStatus(result.getStatus());
         dto.setResultDate(result.getResultDate());
-
-        if (result.getLab() != null) {
-            dto.setLabName(result.getLab().getName());
-        }
-
+        dto.setLabName(labName);
+        dto.setVersion(result.getVersion());
         return dto;
     }
 }
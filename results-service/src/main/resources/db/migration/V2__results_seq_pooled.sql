@@ -0,0 +1,6 @@
+-- RESULTS_SEQ pasa a incrementar de a 50
+-- Result usa allocationSize = 50 (optimizador pooled): cada NEXTVAL reserva un bloque de 50 IDs
+-- y la inserción por lotes no necesita un viaje a la base de datos por fila.
+-- Debe aplicarse antes de desplegar: Hibernate valida que el incremento coincida con allocationSize.
+
+ALTER SEQUENCE RESULTS_SEQ INCREMENT BY 50;
@@ -0,0 +1,5 @@
+-- Columna VERSION para control optimista de resultados
+-- Result usa @Version: cada UPDATE incrementa la versión y falla si la fila cambió entre la lectura y la escritura.
+-- Debe aplicarse antes de desplegar: con ddl-auto=validate Hibernate exige la columna.
+
+ALTER TABLE RESULTS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+-- Índices de RESULTS para el historial por paciente y las claves foráneas.
+-- USER_ID y LAB_ID son claves foráneas con ON DELETE CASCADE: sin índice, borrar un usuario o un
+-- laboratorio recorre RESULTS completa.
+
+-- Historial del paciente (ResultRepository.findSummariesByUserId): filtra por USER_ID y ordena por
+-- RESULT_DATE DESC, ID DESC, en el mismo orden del índice. LAB_ID, TEST_TYPE y STATUS completan las
+-- columnas del resumen, así el listado se resuelve sin leer la tabla (ni el CLOB VALUE_JSON).
+CREATE INDEX IDX_RESULTS_USER_DATE ON RESULTS (USER_ID, RESULT_DATE DESC, ID DESC, LAB_ID, TEST_TYPE, STATUS);
+
+CREATE INDEX IDX_RESULTS_LAB_ID ON RESULTS (LAB_ID);
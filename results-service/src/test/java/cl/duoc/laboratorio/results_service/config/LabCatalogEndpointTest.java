@@ -0,0 +1,30 @@
+package cl.duoc.laboratorio.results_service.config;
+
+import cl.duoc.laboratorio.results_service.service.LabCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para LabCatalogEndpoint
+ * Cobertura: invalidación manual del catálogo desde Actuator
+ */
+class LabCatalogEndpointTest {
+
+    @Test
+    @DisplayName("DELETE /actuator/labcatalog - Invalida el catálogo completo")
+    void testInvalidate() {
+        // Given
+        LabCatalog labCatalog = mock(LabCatalog.class);
+        LabCatalogEndpoint endpoint = new LabCatalogEndpoint(labCatalog);
+
+        // When
+        var response = endpoint.invalidate();
+
+        // Then
+        assertEquals("Catálogo de laboratorios invalidado", response.get("message"));
+        verify(labCatalog, times(1)).invalidateAll();
+    }
+}
@@ -1,8 +1,14 @@
 package cl.duoc.laboratorio.results_service.controller;
 
 import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchErrorDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultPageDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultRequestDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.results_service.exception.ResourceNotFoundException;
 import cl.duoc.laboratorio.results_service.service.LabService;
 import cl.duoc.laboratorio.results_service.service.ResultService;
@@ -15,11 +21,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -68,6 +78,7 @@ class ResultControllerTest {
         resultResponseDTO.setValueJson("{\"hemoglobina\": 14.5}");
         resultResponseDTO.setStatus("COMPLETADO");
         resultResponseDTO.setResultDate(LocalDate.of(2024, 1, 15));
+        resultResponseDTO.setVersion(0L);
     }
 
     @Test
@@ -79,10 +90,12 @@ class ResultControllerTest {
             new LabDTO(2L, "Laboratorio Norte")
         );
         when(labService.getAllLabs()).thenReturn(labs);
+        when(labService.getLabsEtag()).thenReturn("\"2-8674cec79a826b64\"");
 
         // When & Then
         mockMvc.perform(get("/api/results/labs"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-8674cec79a826b64\""))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("Laboratorio Central"))
                 .andExpect(jsonPath("$[1].id").value(2))
@@ -91,6 +104,21 @@ class ResultControllerTest {
         verify(labService, times(1)).getAllLabs();
     }
 
+    @Test
+    @DisplayName("GET /api/results/labs - If-None-Match vigente responde 304")
+    void testGetAllLabs_NotModified() throws Exception {
+        // Given
+        when(labService.getLabsEtag()).thenReturn("\"2-8674cec79a826b64\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/results/labs").header("If-None-Match", "\"2-8674cec79a826b64\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2-8674cec79a826b64\""))
+                .andExpect(content().string(""));
+
+        verify(labService, never()).getAllLabs();
+    }
+
     @Test
     @DisplayName("POST /api/results - Crear resultado exitoso")
     void testCreateResult_Success() throws Exception {
@@ -111,6 +139,27 @@ class ResultControllerTest {
         verify(resultService, times(1)).createResult(any(ResultRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("POST /api/results/batch - Informa insertados y errores por índice")
+    void testCreateResultsBatch_Success() throws Exception {
+        // Given
+        ResultBatchResponseDTO response = new ResultBatchResponseDTO(2, 1,
+            List.of(new ResultBatchErrorDTO(1, "Laboratorio no encontrado con id: 99")));
+        when(resultService.createResultsBatch(anyList())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/results/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(resultRequestDTO, resultRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Laboratorio no encontrado con id: 99"));
+
+        verify(resultService, times(1)).createResultsBatch(anyList());
+    }
+
     @Test
     @DisplayName("POST /api/results - Laboratorio no encontrado (404)")
     void testCreateResult_LabNotFound() throws Exception {
@@ -132,10 +181,12 @@ class ResultControllerTest {
     void testGetResultById_Success() throws Exception {
         // Given
         when(resultService.getResultById(1L)).thenReturn(resultResponseDTO);
+        when(resultService.getResultEtag(1L)).thenReturn(Optional.of("\"1-0\""));
 
         // When & Then
         mockMvc.perform(get("/api/results/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.userId").value(100))
                 .andExpect(jsonPath("$.testType").value("Hemograma"));
@@ -143,6 +194,21 @@ class ResultControllerTest {
         verify(resultService, times(1)).getResultById(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/results/{id} - El ETag corresponde a la fila devuelta, no a la consulta de versión")
+    void testGetResultById_EtagFollowsBody() throws Exception {
+        // Given: el resultado se modificó entre la consulta de versión y la lectura del cuerpo
+        when(resultService.getResultEtag(1L)).thenReturn(Optional.of("\"1-0\""));
+        resultResponseDTO.setVersion(1L);
+        when(resultService.getResultById(1L)).thenReturn(resultResponseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/results/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/results/{id} - Resultado no encontrado (404)")
     void testGetResultById_NotFound() throws Exception {
@@ -207,11 +273,13 @@ class ResultControllerTest {
         updatedResult.setTestType("Hemograma Completo");
         updatedResult.setStatus("REVISADO");
         updatedResult.setResultDate(LocalDate.of(2024, 1, 16));
+        updatedResult.setVersion(1L);
 
-        when(resultService.updateResult(eq(1L), any(ResultRequestDTO.class))).thenReturn(updatedResult);
+        when(resultService.updateResult(eq(1L), any(ResultRequestDTO.class), eq(0L))).thenReturn(updatedResult);
 
         // When & Then
         mockMvc.perform(put("/api/results/1")
+                .header("If-Match", "\"1-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(resultRequestDTO)))
                 .andExpect(status().isOk())
@@ -219,23 +287,87 @@ class ResultControllerTest {
                 .andExpect(jsonPath("$.testType").value("Hemograma Completo"))
                 .andExpect(jsonPath("$.status").value("REVISADO"));
 
-        verify(resultService, times(1)).updateResult(eq(1L), any(ResultRequestDTO.class));
+        verify(resultService, times(1)).updateResult(eq(1L), any(ResultRequestDTO.class), eq(0L));
     }
 
     @Test
     @DisplayName("PUT /api/results/{id} - Resultado no encontrado (404)")
     void testUpdateResult_NotFound() throws Exception {
         // Given
-        when(resultService.updateResult(eq(999L), any(ResultRequestDTO.class)))
+        when(resultService.updateResult(eq(999L), any(ResultRequestDTO.class), eq(0L)))
             .thenThrow(new ResourceNotFoundException("Resultado no encontrado con id: 999"));
 
         // When & Then
         mockMvc.perform(put("/api/results/999")
+                .header("If-Match", "\"999-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(resultRequestDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(resultService, times(1)).updateResult(eq(999L), any(ResultRequestDTO.class));
+        verify(resultService, times(1)).updateResult(eq(999L), any(ResultRequestDTO.class), eq(0L));
+    }
+
+    @Test
+    @DisplayName("PUT /api/results/{id} - If-Match vigente devuelve el nuevo ETag")
+    void testUpdateResult_IfMatch() throws Exception {
+        // Given
+        resultResponseDTO.setVersion(5L);
+        when(resultService.updateResult(eq(1L), any(ResultRequestDTO.class), eq(4L))).thenReturn(resultResponseDTO);
+
+        // When & Then
+        mockMvc.perform(put("/api/results/1")
+                .header("If-Match", "W/\"1-9\", \"1-4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(resultRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-5\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/results/{id} - Versión obsoleta (412)")
+    void testUpdateResult_PreconditionFailed() throws Exception {
+        // Given
+        when(resultService.updateResult(eq(1L), any(ResultRequestDTO.class), eq(3L)))
+            .thenThrow(new PreconditionFailedException("El resultado 1 fue modificado: la versión no coincide con If-Match"));
+
+        // When & Then
+        mockMvc.perform(put("/api/results/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(resultRequestDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("PUT /api/results/{id} - Sin If-Match no sobrescribe una versión más nueva (428)")
+    void testUpdateResult_WithoutIfMatch() throws Exception {
+        // When & Then: ni sin encabezado ni con "*" llega a ejecutarse el UPDATE
+        mockMvc.perform(put("/api/results/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(resultRequestDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value(428));
+        mockMvc.perform(put("/api/results/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(resultRequestDTO)))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(resultService, never()).updateResult(anyLong(), any(ResultRequestDTO.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/results/{id} - If-None-Match vigente responde 304")
+    void testGetResultById_NotModified() throws Exception {
+        // Given
+        when(resultService.getResultEtag(1L)).thenReturn(Optional.of("\"1-0\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/results/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(resultService, never()).getResultById(anyLong());
     }
 
     @Test
@@ -265,4 +397,137 @@ class ResultControllerTest {
 
         verify(resultService, times(1)).deleteResult(999L);
     }
+
+    @Test
+    @DisplayName("GET /api/results/page - Página con cursor siguiente")
+    void testGetResultsPage_Success() throws Exception {
+        // Given
+        ResultPageDTO<ResultResponseDTO> page = new ResultPageDTO<>(List.of(resultResponseDTO), "MQ", 1);
+        when(resultService.getResultsPage("MA", 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/results/page").param("cursor", "MA").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("MQ"))
+                .andExpect(jsonPath("$.size").value(1));
+
+        verify(resultService, times(1)).getResultsPage("MA", 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/results/page - Cursor inválido (400)")
+    void testGetResultsPage_InvalidCursor() throws Exception {
+        // Given
+        when(resultService.getResultsPage("x", null))
+            .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        // When & Then
+        mockMvc.perform(get("/api/results/page").param("cursor", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido"));
+    }
+
+    @Test
+    @DisplayName("GET /api/results/export - Exportación NDJSON en streaming")
+    @SuppressWarnings("unchecked")
+    void testExportResults_Ndjson() throws Exception {
+        // Given
+        ResultResponseDTO result2 = new ResultResponseDTO();
+        result2.setId(2L);
+        result2.setUserId(100L);
+        doAnswer(invocation -> {
+            Consumer<ResultResponseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(resultResponseDTO);
+            consumer.accept(result2);
+            return 2L;
+        }).when(resultService).exportResults(any(Consumer.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/api/results/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], ResultResponseDTO.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], ResultResponseDTO.class).getId());
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/results/by-user/{userId}/summary - Resumen sin VALUE_JSON")
+    void testGetResultSummariesByUserId_Success() throws Exception {
+        // Given
+        ResultSummaryDTO summary = new ResultSummaryDTO(1L, 100L, 1L, "Laboratorio Central",
+            "Hemograma", "COMPLETADO", LocalDate.of(2024, 1, 15));
+        when(resultService.getResultSummariesByUserId(100L)).thenReturn(List.of(summary));
+
+        // When & Then
+        mockMvc.perform(get("/api/results/by-user/100/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].testType").value("Hemograma"))
+                .andExpect(jsonPath("$[0].labName").value("Laboratorio Central"))
+                .andExpect(jsonPath("$[0].valueJson").doesNotExist());
+
+        verify(resultService, times(1)).getResultSummariesByUserId(100L);
+    }
+
+    @Test
+    @DisplayName("GET /api/results/summary - Página de resúmenes")
+    void testGetResultSummariesPage_Success() throws Exception {
+        // Given
+        ResultSummaryDTO summary = new ResultSummaryDTO(1L, 100L, 1L, "Laboratorio Central",
+            "Hemograma", "COMPLETADO", LocalDate.of(2024, 1, 15));
+        when(resultService.getResultSummariesPage(null, 20))
+            .thenReturn(new ResultPageDTO<>(List.of(summary), null, 20));
+
+        // When & Then
+        mockMvc.perform(get("/api/results/summary").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].valueJson").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/results/search - Filtros desde los parámetros de la URL")
+    void testSearchResults_Success() throws Exception {
+        // Given
+        ResultSummaryDTO summary = new ResultSummaryDTO(1L, 100L, 1L, "Laboratorio Central",
+            "Hemograma", "COMPLETADO", LocalDate.of(2024, 1, 15));
+        ResultFilterDTO expectedFilter = new ResultFilterDTO(100L, null, List.of("COMPLETADO", "REVISADO"), null,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        when(resultService.searchResults(expectedFilter, "asc", null, 20))
+            .thenReturn(new ResultPageDTO<>(List.of(summary), null, 20));
+
+        // When & Then
+        mockMvc.perform(get("/api/results/search")
+                .param("userId", "100")
+                .param("status", "COMPLETADO", "REVISADO")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .param("order", "asc")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].valueJson").doesNotExist());
+
+        verify(resultService, times(1)).searchResults(expectedFilter, "asc", null, 20);
+    }
+
+    @Test
+    @DisplayName("GET /api/results/search - Fecha con formato inválido")
+    void testSearchResults_InvalidDate() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/results/search").param("from", "15-01-2024"))
+                .andExpect(status().isBadRequest());
+
+        verify(resultService, never()).searchResults(any(), any(), any(), any());
+    }
 }
@@ -0,0 +1,183 @@
+package cl.duoc.laboratorio.results_service.repository;
+
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.model.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ResultSearchRepository (Criteria sobre H2)
+ * Cobertura: Filtros combinados + Orden con fechas nulas + Paginación keyset en ambos órdenes
+ * + UPDATE condicional por versión
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ResultSearchRepositoryTest {
+
+    // Orden ascendente de la búsqueda: fecha con nulos al final y luego ID; el descendente es el inverso
+    private static final Comparator<Result> ASCENDING = Comparator
+        .comparing(Result::getResultDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+        .thenComparing(Result::getId);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    private final List<Result> patientResults = new ArrayList<>();
+    private Long centralLabId;
+
+    @BeforeEach
+    void setUp() {
+        Lab central = new Lab();
+        central.setName("Laboratorio Central");
+        centralLabId = entityManager.persist(central).getId();
+        Lab norte = new Lab();
+        norte.setName("Laboratorio Norte");
+        Long norteLabId = entityManager.persist(norte).getId();
+
+        // Fechas repetidas y nulas (PENDIENTE) para que el desempate por ID y los nulos entren en juego
+        LocalDate[] dates = {LocalDate.of(2024, 1, 10), null, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 5),
+            null, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 10), LocalDate.of(2023, 12, 31), null};
+        for (int i = 0; i < dates.length; i++) {
+            Long labId = i % 2 == 0 ? centralLabId : norteLabId;
+            String status = dates[i] == null ? "PENDIENTE" : (i % 3 == 0 ? "REVISADO" : "COMPLETADO");
+            patientResults.add(persistResult(100L, labId, "Hemograma", status, dates[i]));
+        }
+        persistResult(200L, centralLabId, "Hemograma", "COMPLETADO", LocalDate.of(2024, 1, 10));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Búsqueda - Combina usuario, estados, laboratorio y rango de fechas")
+    void testSearchSummaries_Filters() {
+        // Given
+        ResultFilterDTO filter = new ResultFilterDTO(100L, centralLabId, List.of("COMPLETADO", "REVISADO"), "Hemograma",
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 28));
+        List<Long> expected = patientResults.stream()
+            .filter(r -> r.getLabId().equals(centralLabId) && r.getResultDate() != null)
+            .filter(r -> !r.getResultDate().isBefore(filter.getFrom()) && !r.getResultDate().isAfter(filter.getTo()))
+            .sorted(ASCENDING.reversed())
+            .map(Result::getId)
+            .toList();
+
+        // When
+        List<ResultSummaryDTO> results = resultRepository.searchSummaries(
+            ResultSpecifications.matching(filter), true, 50);
+
+        // Then
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, results.stream().map(ResultSummaryDTO::getId).toList());
+        assertTrue(results.stream().allMatch(r -> "Laboratorio Central".equals(r.getLabName())));
+    }
+
+    @Test
+    @DisplayName("Búsqueda - Sin filtros el límite se aplica en la consulta")
+    void testSearchSummaries_Limit() {
+        // When
+        List<ResultSummaryDTO> results = resultRepository.searchSummaries(
+            ResultSpecifications.matching(new ResultFilterDTO()), false, 3);
+
+        // Then
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    @DisplayName("Paginación keyset descendente - Nulos primero, sin filas repetidas ni omitidas")
+    void testSearchSummaries_KeysetDescending() {
+        // Given
+        List<Long> expected = patientResults.stream().sorted(ASCENDING.reversed()).map(Result::getId).toList();
+
+        // When
+        List<Long> paged = pageThrough(true, 2);
+
+        // Then
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    @DisplayName("Paginación keyset ascendente - Nulos al final, sin filas repetidas ni omitidas")
+    void testSearchSummaries_KeysetAscending() {
+        // Given
+        List<Long> expected = patientResults.stream().sorted(ASCENDING).map(Result::getId).toList();
+
+        // When
+        List<Long> paged = pageThrough(false, 2);
+
+        // Then
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    @DisplayName("UPDATE condicional - Una versión obsoleta no sobrescribe un cambio más nuevo")
+    void testUpdateFields_StaleVersion() {
+        // Given: otro cliente ya actualizó el resultado (versión 0 -> 1)
+        Result current = patientResults.get(0);
+        Result first = copyWithStatus(current, "REVISADO");
+        assertEquals(1, resultRepository.updateFields(current.getId(), first, 0L));
+
+        // When: un PUT que leyó la versión 0 intenta escribir encima
+        Result stale = copyWithStatus(current, "ANULADO");
+        int updated = resultRepository.updateFields(current.getId(), stale, 0L);
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, updated);
+        Result stored = entityManager.find(Result.class, current.getId());
+        assertEquals("REVISADO", stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    private static Result copyWithStatus(Result source, String status) {
+        Result copy = new Result();
+        copy.setUserId(source.getUserId());
+        copy.setLabId(source.getLabId());
+        copy.setTestType(source.getTestType());
+        copy.setStatus(status);
+        copy.setResultDate(source.getResultDate());
+        return copy;
+    }
+
+    private List<Long> pageThrough(boolean descending, int size) {
+        ResultFilterDTO filter = new ResultFilterDTO();
+        filter.setUserId(100L);
+        List<Long> ids = new ArrayList<>();
+        List<ResultSummaryDTO> page = resultRepository.searchSummaries(ResultSpecifications.matching(filter), descending, size);
+        while (!page.isEmpty()) {
+            page.forEach(result -> ids.add(result.getId()));
+            ResultSummaryDTO last = page.get(page.size() - 1);
+            Specification<Result> next = ResultSpecifications.matching(filter)
+                .and(ResultSpecifications.after(descending, last.getResultDate(), last.getId()));
+            page = resultRepository.searchSummaries(next, descending, size);
+        }
+        return ids;
+    }
+
+    private Result persistResult(Long userId, Long labId, String testType, String status, LocalDate resultDate) {
+        Result result = new Result();
+        result.setUserId(userId);
+        result.setLabId(labId);
+        result.setTestType(testType);
+        result.setStatus(status);
+        result.setResultDate(resultDate);
+        return entityManager.persist(result);
+    }
+}
@@ -0,0 +1,192 @@
+package cl.duoc.laboratorio.results_service.service;
+
+import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.model.Lab;
+import cl.duoc.laboratorio.results_service.repository.LabRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para LabCatalog
+ * Cobertura: aciertos de caché, invalidación y métricas
+ */
+@ExtendWith(MockitoExtension.class)
+class LabCatalogTest {
+
+    @Mock
+    private LabRepository labRepository;
+
+    private LabCatalog labCatalog;
+    private SimpleMeterRegistry registry;
+    private Lab testLab;
+
+    @BeforeEach
+    void setUp() {
+        labCatalog = new LabCatalog(labRepository, Duration.ofMinutes(5), 100);
+        registry = new SimpleMeterRegistry();
+        labCatalog.bindTo(registry);
+
+        testLab = new Lab();
+        testLab.setId(1L);
+        testLab.setName("Laboratorio Central");
+    }
+
+    @Test
+    @DisplayName("Buscar por ID - Segunda consulta sin ir a la BD")
+    void testFindById_CachesResult() {
+        // Given
+        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+
+        // When
+        Optional<LabDTO> first = labCatalog.findById(1L);
+        Optional<LabDTO> second = labCatalog.findById(1L);
+
+        // Then
+        assertEquals("Laboratorio Central", first.orElseThrow().getName());
+        assertEquals(first, second);
+        verify(labRepository, times(1)).findById(1L);
+        assertEquals(1, registry.get("cache.gets").tags("cache", "labCatalog", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "labCatalog", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Buscar por ID - Inexistente no queda en caché")
+    void testFindById_MissingIsNotCached() {
+        // Given
+        when(labRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        assertTrue(labCatalog.findById(99L).isEmpty());
+        assertTrue(labCatalog.findById(99L).isEmpty());
+        assertTrue(labCatalog.findById(null).isEmpty());
+
+        // Then
+        verify(labRepository, times(2)).findById(99L);
+    }
+
+    @Test
+    @DisplayName("Buscar varios IDs - Solo los faltantes van a la BD en una consulta")
+    void testFindAllByIds_LoadsMissingInOneQuery() {
+        // Given
+        Lab otherLab = new Lab();
+        otherLab.setId(2L);
+        otherLab.setName("Laboratorio Norte");
+        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+        when(labRepository.findAllById(anyIterable())).thenReturn(List.of(otherLab));
+        labCatalog.findById(1L);
+
+        // When
+        Map<Long, LabDTO> labs = labCatalog.findAllByIds(Arrays.asList(1L, 2L, 2L, 99L, null));
+
+        // Then
+        assertEquals(2, labs.size());
+        assertEquals("Laboratorio Central", labs.get(1L).getName());
+        assertEquals("Laboratorio Norte", labs.get(2L).getName());
+        assertFalse(labs.containsKey(99L));
+        verify(labRepository, times(1)).findAllById(argThat(ids -> !((Collection<?>) ids).contains(1L)));
+    }
+
+    @Test
+    @DisplayName("Listar laboratorios - Precalienta las búsquedas por ID")
+    void testGetAllLabs_WarmsById() {
+        // Given
+        when(labRepository.findAll()).thenReturn(List.of(testLab));
+
+        // When
+        List<LabDTO> labs = labCatalog.getAllLabs();
+        labCatalog.getAllLabs();
+        Optional<LabDTO> byId = labCatalog.findById(1L);
+
+        // Then
+        assertEquals(1, labs.size());
+        assertTrue(byId.isPresent());
+        verify(labRepository, times(1)).findAll();
+        verify(labRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("ETag de laboratorios - Se calcula con la lista y cambia al recargar")
+    void testGetAllLabsEtag() {
+        // Given
+        testLab.setVersion(2L);
+        Lab lab2 = new Lab();
+        lab2.setId(51L);
+        lab2.setName("Laboratorio Norte");
+        lab2.setVersion(0L);
+        // findAll puede devolver cualquier orden: el ETag se calcula por ID
+        when(labRepository.findAll()).thenReturn(List.of(lab2, testLab), List.of(testLab));
+
+        // When
+        String etag = labCatalog.getAllLabsEtag();
+        labCatalog.getAllLabs();
+        labCatalog.invalidate(51L);
+        String reloaded = labCatalog.getAllLabsEtag();
+
+        // Then: mismos valores que GET /api/labs en labs-service para esos pares (id, versión)
+        assertEquals("\"2-8674cec79a826b64\"", etag);
+        assertEquals("\"1-8c7654ecfd7b0b62\"", reloaded);
+        verify(labRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("ETag de laboratorios - Cambia aunque la cantidad, el mayor ID y la suma de versiones coincidan")
+    void testEtagOf_SameTotalsDifferentVersions() {
+        // Given: {1: v2, 51: v0} y {1: v0, 51: v2}
+        Lab lab2 = new Lab();
+        lab2.setId(51L);
+        lab2.setVersion(0L);
+        testLab.setVersion(2L);
+        String before = LabCatalog.etagOf(List.of(testLab, lab2));
+
+        // When
+        testLab.setVersion(0L);
+        lab2.setVersion(2L);
+        String after = LabCatalog.etagOf(List.of(testLab, lab2));
+
+        // Then
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    @DisplayName("ETag de laboratorios - Catálogo vacío")
+    void testEtagOf_Empty() {
+        // When & Then
+        assertEquals("\"0-e3b0c44298fc1c14\"", LabCatalog.etagOf(List.of()));
+    }
+
+    @Test
+    @DisplayName("Invalidar - La siguiente consulta recarga desde la BD")
+    void testInvalidate_Reloads() {
+        // Given
+        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+        when(labRepository.findAll()).thenReturn(List.of(testLab));
+        labCatalog.findById(1L);
+        labCatalog.getAllLabs();
+
+        // When
+        labCatalog.invalidate(1L);
+        labCatalog.findById(1L);
+        labCatalog.invalidateAll();
+        labCatalog.getAllLabs();
+
+        // Then
+        verify(labRepository, times(2)).findById(1L);
+        verify(labRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,178 @@
+package cl.duoc.laboratorio.results_service.service;
+
+import cl.duoc.laboratorio.results_service.model.LabEvent;
+import cl.duoc.laboratorio.results_service.repository.LabEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para LabChangeListener
+ * Cobertura: arranque desde el último evento + huecos al iniciar + invalidación precisa + IDs confirmados fuera de orden
+ */
+@ExtendWith(MockitoExtension.class)
+class LabChangeListenerTest {
+
+    @Mock
+    private LabEventRepository labEventRepository;
+
+    @Mock
+    private LabCatalog labCatalog;
+
+    @Mock
+    private Clock clock;
+
+    private LabChangeListener labChangeListener;
+
+    @BeforeEach
+    void setUp() {
+        labChangeListener = new LabChangeListener(labEventRepository, labCatalog, Duration.ofMinutes(1), clock);
+        lenient().when(clock.instant()).thenReturn(Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Primer sondeo - Parte desde el último evento existente")
+    void testFirstPoll_StartsFromLatest() {
+        // Given
+        startFrom(42L);
+
+        // When
+        labChangeListener.pollLabEvents();
+
+        // Then
+        assertEquals(42L, labChangeListener.getLastEventId());
+        assertEquals(0, labChangeListener.getPendingGaps());
+        verify(labCatalog, times(1)).invalidateAll();
+        verify(labCatalog, never()).invalidate(anyLong());
+    }
+
+    @Test
+    @DisplayName("Primer sondeo - Un ID menor aún sin confirmar al iniciar queda como hueco")
+    void testFirstPoll_SeedsUncommittedGaps() {
+        // Given: al iniciar el 42 está confirmado y el 41 todavía no
+        when(labEventRepository.findLatestId()).thenReturn(42L);
+        List<LabEvent> committed = new ArrayList<>(events(1L, 40L));
+        committed.add(new LabEvent(42L, 8L, "UPDATED", LocalDateTime.now()));
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(500))).thenReturn(committed);
+        labChangeListener.pollLabEvents();
+        assertEquals(1, labChangeListener.getPendingGaps());
+
+        // When: el 41 se confirma
+        LabEvent late = new LabEvent(41L, 7L, "UPDATED", LocalDateTime.now());
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(40L, Limit.of(500)))
+            .thenReturn(List.of(late, committed.get(committed.size() - 1)));
+        labChangeListener.pollLabEvents();
+
+        // Then: solo se invalida el laboratorio del 41; el 42 ya estaba cubierto por invalidateAll
+        verify(labCatalog, times(1)).invalidate(7L);
+        verify(labCatalog, never()).invalidate(8L);
+        assertEquals(42L, labChangeListener.getLastEventId());
+        assertEquals(0, labChangeListener.getPendingGaps());
+    }
+
+    @Test
+    @DisplayName("Sondeo - Invalida solo los laboratorios modificados")
+    void testPoll_InvalidatesChangedLabs() {
+        // Given
+        startFrom(10L);
+        LabEvent updated = new LabEvent(11L, 3L, "UPDATED", LocalDateTime.now());
+        LabEvent deleted = new LabEvent(12L, 4L, "DELETED", LocalDateTime.now());
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(500)))
+            .thenReturn(List.of(updated, deleted));
+        labChangeListener.pollLabEvents();
+
+        // When
+        labChangeListener.pollLabEvents();
+
+        // Then
+        verify(labCatalog, times(1)).invalidate(3L);
+        verify(labCatalog, times(1)).invalidate(4L);
+        assertEquals(12L, labChangeListener.getLastEventId());
+    }
+
+    @Test
+    @DisplayName("Sondeo - Un ID menor confirmado después de uno mayor no se pierde")
+    void testPoll_OutOfOrderCommitIsNotSkipped() {
+        // Given: el evento 12 se confirma antes que el 11
+        startFrom(10L);
+        LabEvent late = new LabEvent(11L, 3L, "UPDATED", LocalDateTime.now());
+        LabEvent early = new LabEvent(12L, 4L, "UPDATED", LocalDateTime.now());
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(500)))
+            .thenReturn(List.of(early))
+            .thenReturn(List.of(late, early));
+        labChangeListener.pollLabEvents();
+        labChangeListener.pollLabEvents();
+        assertEquals(1, labChangeListener.getPendingGaps());
+
+        // When: el 11 ya está confirmado; el 12 vuelve a leerse pero no se procesa de nuevo
+        labChangeListener.pollLabEvents();
+
+        // Then
+        verify(labCatalog, times(1)).invalidate(3L);
+        verify(labCatalog, times(1)).invalidate(4L);
+        assertEquals(12L, labChangeListener.getLastEventId());
+        assertEquals(0, labChangeListener.getPendingGaps());
+    }
+
+    @Test
+    @DisplayName("Sondeo - Un hueco que nunca se confirma se descarta al vencer el plazo")
+    void testPoll_GapExpires() {
+        // Given: el ID 11 se perdió (transacción revertida)
+        startFrom(10L);
+        LabEvent event = new LabEvent(12L, 4L, "UPDATED", LocalDateTime.now());
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(500))).thenReturn(List.of(event));
+        labChangeListener.pollLabEvents();
+        labChangeListener.pollLabEvents();
+
+        // When: pasa el plazo sin que aparezca
+        when(clock.instant()).thenReturn(Instant.parse("2025-01-01T10:02:00Z"));
+        labChangeListener.pollLabEvents();
+
+        // Then: deja de releerse desde el hueco
+        assertEquals(0, labChangeListener.getPendingGaps());
+        labChangeListener.pollLabEvents();
+        verify(labEventRepository, times(1)).findByIdGreaterThanOrderByIdAsc(12L, Limit.of(500));
+        verify(labCatalog, times(1)).invalidate(4L);
+    }
+
+    @Test
+    @DisplayName("Sondeo - Error de BD no detiene el sondeo")
+    void testPoll_DatabaseErrorIsLogged() {
+        // Given
+        when(labEventRepository.findLatestId()).thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        // When & Then
+        assertDoesNotThrow(() -> labChangeListener.pollLabEvents());
+        assertNull(labChangeListener.getLastEventId());
+        verifyNoInteractions(labCatalog);
+    }
+
+    // Arranque con los eventos 1..latestId ya confirmados
+    private void startFrom(long latestId) {
+        when(labEventRepository.findLatestId()).thenReturn(latestId);
+        when(labEventRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(500))).thenReturn(events(1L, latestId));
+    }
+
+    private static List<LabEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+            .mapToObj(id -> new LabEvent(id, 1L, "UPDATED", LocalDateTime.now()))
+            .toList();
+    }
+}
@@ -1,11 +1,16 @@
 package cl.duoc.laboratorio.results_service.service;
 
+import cl.duoc.laboratorio.results_service.dto.LabDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultFilterDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultBatchResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultPageDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultRequestDTO;
 import cl.duoc.laboratorio.results_service.dto.ResultResponseDTO;
+import cl.duoc.laboratorio.results_service.dto.ResultSummaryDTO;
+import cl.duoc.laboratorio.results_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.results_service.exception.ResourceNotFoundException;
 import cl.duoc.laboratorio.results_service.model.Lab;
 import cl.duoc.laboratorio.results_service.model.Result;
-import cl.duoc.laboratorio.results_service.repository.LabRepository;
 import cl.duoc.laboratorio.results_service.repository.ResultRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +18,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,13 +50,19 @@ class ResultServiceTest {
     private ResultRepository resultRepository;
 
     @Mock
-    private LabRepository labRepository;
+    private LabCatalog labCatalog;
+
+    // Plantilla real sobre un administrador simulado: ejecuta cada bloque y propaga sus excepciones
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private ResultService resultService;
 
     private Result testResult;
+    private ResultResponseDTO testResponse;
     private Lab testLab;
+    private LabDTO testLabDTO;
     private ResultRequestDTO resultRequestDTO;
 
     @BeforeEach
@@ -50,6 +71,7 @@ class ResultServiceTest {
         testLab = new Lab();
         testLab.setId(1L);
         testLab.setName("Laboratorio Central");
+        testLabDTO = new LabDTO(1L, "Laboratorio Central");
 
         // Setup test result
         testResult = new Result();
@@ -62,6 +84,10 @@ class ResultServiceTest {
         testResult.setResultDate(LocalDate.of(2024, 1, 15));
         testResult.setLab(testLab);
 
+        // Setup proyección de respuesta
+        testResponse = new ResultResponseDTO(1L, 100L, 1L, "Laboratorio Central", "Hemograma",
+            "{\"hemoglobina\": 14.5, \"leucocitos\": 8000}", "COMPLETADO", LocalDate.of(2024, 1, 15), 0L);
+
         // Setup request DTO
         resultRequestDTO = new ResultRequestDTO();
         resultRequestDTO.setUserId(100L);
@@ -76,7 +102,7 @@ class ResultServiceTest {
     @DisplayName("Crear resultado - Exitoso")
     void testCreateResult_Success() {
         // Given
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
         when(resultRepository.save(any(Result.class))).thenReturn(testResult);
 
         // When
@@ -91,14 +117,28 @@ class ResultServiceTest {
         assertEquals("COMPLETADO", result.getStatus());
         assertEquals("Laboratorio Central", result.getLabName());
         verify(resultRepository, times(1)).save(any(Result.class));
-        verify(labRepository, times(1)).findById(1L);
+        verify(labCatalog, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Crear resultado - Respuesta con nombre del laboratorio validado")
+    void testCreateResult_ReturnsLabName() {
+        // Given
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
+        when(resultRepository.save(any(Result.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ResultResponseDTO result = resultService.createResult(resultRequestDTO);
+
+        // Then
+        assertEquals("Laboratorio Central", result.getLabName());
     }
 
     @Test
     @DisplayName("Crear resultado - Laboratorio no encontrado")
     void testCreateResult_LabNotFound() {
         // Given
-        when(labRepository.findById(1L)).thenReturn(Optional.empty());
+        when(labCatalog.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -109,11 +149,138 @@ class ResultServiceTest {
         verify(resultRepository, never()).save(any(Result.class));
     }
 
+    @Test
+    @DisplayName("Crear lote - Inserta por bloques y valida laboratorios en una sola búsqueda")
+    void testCreateResultsBatch_InsertsInChunks() {
+        // Given
+        List<ResultRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < ResultService.BATCH_CHUNK_SIZE + 10; i++) {
+            requests.add(resultRequestDTO);
+        }
+        when(labCatalog.findAllByIds(anyCollection())).thenReturn(Map.of(1L, testLabDTO));
+
+        // When
+        ResultBatchResponseDTO response = resultService.createResultsBatch(requests);
+
+        // Then
+        assertEquals(60, response.getReceived());
+        assertEquals(60, response.getInserted());
+        assertTrue(response.getErrors().isEmpty());
+        verify(labCatalog, times(1)).findAllByIds(anyCollection());
+        verify(resultRepository, times(2)).saveAllAndFlush(anyList());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Crear lote - Errores por índice sin rechazar el lote")
+    void testCreateResultsBatch_ReportsErrorsByIndex() {
+        // Given
+        ResultRequestDTO unknownLab = new ResultRequestDTO(100L, 99L, "Glicemia", null, "PENDIENTE", null);
+        ResultRequestDTO missingUser = new ResultRequestDTO(null, 1L, "Glicemia", null, "PENDIENTE", null);
+        List<ResultRequestDTO> requests = Arrays.asList(resultRequestDTO, unknownLab, null, missingUser);
+        when(labCatalog.findAllByIds(anyCollection())).thenReturn(Map.of(1L, testLabDTO));
+
+        // When
+        ResultBatchResponseDTO response = resultService.createResultsBatch(requests);
+
+        // Then
+        assertEquals(4, response.getReceived());
+        assertEquals(1, response.getInserted());
+        assertEquals(3, response.getErrors().size());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("Laboratorio no encontrado con id: 99", response.getErrors().get(0).getMessage());
+        assertEquals(2, response.getErrors().get(1).getIndex());
+        assertEquals(3, response.getErrors().get(2).getIndex());
+        assertEquals("El ID del usuario es obligatorio", response.getErrors().get(2).getMessage());
+        verify(resultRepository, times(1)).saveAllAndFlush(argThat(chunk -> ((List<?>) chunk).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Crear lote - Usuario inexistente (según la FK) y textos sobre el largo de columna se informan por índice")
+    void testCreateResultsBatch_ReportsUnknownUserAndColumnLengths() {
+        // Given
+        ResultRequestDTO unknownUser = new ResultRequestDTO(999L, 1L, "Glicemia", null, "PENDIENTE", null);
+        ResultRequestDTO longTestType = new ResultRequestDTO(100L, 1L, "x".repeat(ResultService.TEST_TYPE_MAX_BYTES + 1),
+            null, "PENDIENTE", null);
+        // 26 caracteres con tilde son 52 bytes en UTF-8: superan VARCHAR2(50) aunque sean menos de 50 caracteres
+        ResultRequestDTO longStatus = new ResultRequestDTO(100L, 1L, "Glicemia", null, "Ó".repeat(26), null);
+        List<ResultRequestDTO> requests = List.of(resultRequestDTO, unknownUser, longTestType, longStatus);
+        when(labCatalog.findAllByIds(anyCollection())).thenReturn(Map.of(1L, testLabDTO));
+        // El usuario no se consulta en USERS: lo rechaza FK_RESULTS_USER al insertar
+        when(resultRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Result> chunk = invocation.getArgument(0);
+            if (chunk.stream().anyMatch(result -> result.getUserId() == 999L)) {
+                throw new DataIntegrityViolationException("could not execute batch", new SQLException(
+                    "ORA-02291: integrity constraint (LABORATORIO.FK_RESULTS_USER) violated - parent key not found"));
+            }
+            return chunk;
+        });
+
+        // When
+        ResultBatchResponseDTO response = resultService.createResultsBatch(requests);
+
+        // Then: el bloque de las filas 0 y 1 falla y se reintenta fila por fila
+        assertEquals(1, response.getInserted());
+        assertEquals(3, response.getErrors().size());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("Usuario no encontrado con id: 999", response.getErrors().get(0).getMessage());
+        assertEquals(2, response.getErrors().get(1).getIndex());
+        assertEquals("El tipo de examen no puede superar 100 bytes", response.getErrors().get(1).getMessage());
+        assertEquals(3, response.getErrors().get(2).getIndex());
+        assertEquals("El estado no puede superar 50 bytes", response.getErrors().get(2).getMessage());
+        verify(resultRepository, times(3)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    @DisplayName("Crear lote - Un error de la BD en un bloque se reintenta fila por fila y solo informa la fila que falla")
+    void testCreateResultsBatch_ChunkFailureRetriesRowByRow() {
+        // Given: la fila 3 viola una restricción que la validación no detecta
+        ResultRequestDTO rejected = new ResultRequestDTO(100L, 1L, "Rechazado", null, "PENDIENTE", null);
+        List<ResultRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < ResultService.BATCH_CHUNK_SIZE + 1; i++) {
+            requests.add(i == 3 ? rejected : resultRequestDTO);
+        }
+        when(labCatalog.findAllByIds(anyCollection())).thenReturn(Map.of(1L, testLabDTO));
+        when(resultRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Result> chunk = invocation.getArgument(0);
+            if (chunk.stream().anyMatch(result -> "Rechazado".equals(result.getTestType()))) {
+                throw new DataIntegrityViolationException("CHK_RESULTS");
+            }
+            return chunk;
+        });
+
+        // When
+        ResultBatchResponseDTO response = resultService.createResultsBatch(requests);
+
+        // Then: el bloque fallido, sus 50 filas por separado y el último bloque de una fila
+        assertEquals(ResultService.BATCH_CHUNK_SIZE, response.getInserted());
+        assertEquals(1, response.getErrors().size());
+        assertEquals(3, response.getErrors().get(0).getIndex());
+        assertEquals("El resultado no cumple una restricción de la base de datos", response.getErrors().get(0).getMessage());
+        verify(resultRepository, times(ResultService.BATCH_CHUNK_SIZE + 2)).saveAllAndFlush(anyList());
+        verify(transactionTemplate, times(ResultService.BATCH_CHUNK_SIZE + 2)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Crear lote - Vacío o sobre el máximo")
+    void testCreateResultsBatch_InvalidSize() {
+        // Given
+        List<ResultRequestDTO> tooLarge = new ArrayList<>();
+        for (int i = 0; i <= ResultService.MAX_BATCH_SIZE; i++) {
+            tooLarge.add(resultRequestDTO);
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> resultService.createResultsBatch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> resultService.createResultsBatch(tooLarge));
+        verifyNoInteractions(resultRepository);
+    }
+
     @Test
     @DisplayName("Obtener resultado por ID - Exitoso")
     void testGetResultById_Success() {
         // Given
-        when(resultRepository.findById(1L)).thenReturn(Optional.of(testResult));
+        when(resultRepository.findResponseById(1L)).thenReturn(Optional.of(testResponse));
 
         // When
         ResultResponseDTO result = resultService.getResultById(1L);
@@ -124,14 +291,15 @@ class ResultServiceTest {
         assertEquals(100L, result.getUserId());
         assertEquals("Hemograma", result.getTestType());
         assertEquals("Laboratorio Central", result.getLabName());
-        verify(resultRepository, times(1)).findById(1L);
+        verify(resultRepository, times(1)).findResponseById(1L);
+        verify(resultRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("Obtener resultado por ID - No encontrado")
     void testGetResultById_NotFound() {
         // Given
-        when(resultRepository.findById(1L)).thenReturn(Optional.empty());
+        when(resultRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -141,22 +309,30 @@ class ResultServiceTest {
         assertTrue(exception.getMessage().contains("Resultado no encontrado"));
     }
 
+    @Test
+    @DisplayName("Obtener todos los resultados - Proyección en una consulta")
+    void testGetAllResults_UsesProjection() {
+        // Given
+        when(resultRepository.findAllResponses()).thenReturn(List.of(testResponse));
+
+        // When
+        List<ResultResponseDTO> resultList = resultService.getAllResults();
+
+        // Then
+        assertEquals(1, resultList.size());
+        assertEquals("Laboratorio Central", resultList.get(0).getLabName());
+        verify(resultRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Obtener resultados por userId - Exitoso")
     void testGetResultsByUserId_Success() {
         // Given
-        Result result2 = new Result();
-        result2.setId(2L);
-        result2.setUserId(100L);
-        result2.setLabId(1L);
-        result2.setTestType("Glucosa");
-        result2.setValueJson("{\"glucosa\": 95}");
-        result2.setStatus("PENDIENTE");
-        result2.setResultDate(LocalDate.of(2024, 1, 20));
-        result2.setLab(testLab);
+        ResultResponseDTO result2 = new ResultResponseDTO(2L, 100L, 1L, "Laboratorio Central",
+            "Glucosa", "{\"glucosa\": 95}", "PENDIENTE", LocalDate.of(2024, 1, 20), 0L);
 
-        List<Result> results = Arrays.asList(testResult, result2);
-        when(resultRepository.findByUserId(100L)).thenReturn(results);
+        List<ResultResponseDTO> results = Arrays.asList(testResponse, result2);
+        when(resultRepository.findResponsesByUserId(100L)).thenReturn(results);
 
         // When
         List<ResultResponseDTO> resultList = resultService.getResultsByUserId(100L);
@@ -166,14 +342,14 @@ class ResultServiceTest {
         assertEquals(2, resultList.size());
         assertEquals("Hemograma", resultList.get(0).getTestType());
         assertEquals("Glucosa", resultList.get(1).getTestType());
-        verify(resultRepository, times(1)).findByUserId(100L);
+        verify(resultRepository, times(1)).findResponsesByUserId(100L);
     }
 
     @Test
     @DisplayName("Obtener resultados por userId - Lista vacía")
     void testGetResultsByUserId_EmptyList() {
         // Given
-        when(resultRepository.findByUserId(100L)).thenReturn(Arrays.asList());
+        when(resultRepository.findResponsesByUserId(100L)).thenReturn(Arrays.asList());
 
         // When
         List<ResultResponseDTO> resultList = resultService.getResultsByUserId(100L);
@@ -181,7 +357,7 @@ class ResultServiceTest {
         // Then
         assertNotNull(resultList);
         assertEquals(0, resultList.size());
-        verify(resultRepository, times(1)).findByUserId(100L);
+        verify(resultRepository, times(1)).findResponsesByUserId(100L);
     }
 
     @Test
@@ -196,59 +372,90 @@ class ResultServiceTest {
         updateDTO.setStatus("REVISADO");
         updateDTO.setResultDate(LocalDate.of(2024, 1, 16));
 
-        Result updatedResult = new Result();
-        updatedResult.setId(1L);
-        updatedResult.setUserId(100L);
-        updatedResult.setLabId(1L);
-        updatedResult.setTestType("Hemograma Completo");
-        updatedResult.setValueJson("{\"hemoglobina\": 15.0, \"leucocitos\": 7500}");
-        updatedResult.setStatus("REVISADO");
-        updatedResult.setResultDate(LocalDate.of(2024, 1, 16));
-        updatedResult.setLab(testLab);
-
-        when(resultRepository.findById(1L)).thenReturn(Optional.of(testResult));
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
-        when(resultRepository.save(any(Result.class))).thenReturn(updatedResult);
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
+        when(resultRepository.updateFields(eq(1L), any(Result.class), eq(0L))).thenReturn(1);
 
         // When
-        ResultResponseDTO result = resultService.updateResult(1L, updateDTO);
+        ResultResponseDTO result = resultService.updateResult(1L, updateDTO, 0L);
 
         // Then
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals("Hemograma Completo", result.getTestType());
         assertEquals("REVISADO", result.getStatus());
-        verify(resultRepository, times(1)).save(any(Result.class));
+        assertEquals(testLabDTO.getName(), result.getLabName());
+        verify(resultRepository, times(1)).updateFields(eq(1L),
+            argThat(r -> "REVISADO".equals(r.getStatus()) && LocalDate.of(2024, 1, 16).equals(r.getResultDate())), eq(0L));
+        verify(resultRepository, never()).findById(anyLong());
+        verify(resultRepository, never()).save(any(Result.class));
     }
 
     @Test
     @DisplayName("Actualizar resultado - Resultado no encontrado")
     void testUpdateResult_ResultNotFound() {
         // Given
-        when(resultRepository.findById(1L)).thenReturn(Optional.empty());
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
+        when(resultRepository.updateFields(eq(1L), any(Result.class), eq(0L))).thenReturn(0);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
             ResourceNotFoundException.class,
-            () -> resultService.updateResult(1L, resultRequestDTO)
+            () -> resultService.updateResult(1L, resultRequestDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Resultado no encontrado"));
-        verify(resultRepository, never()).save(any(Result.class));
+        verify(resultRepository).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("Actualizar resultado - Versión de If-Match obsoleta")
+    void testUpdateResult_VersionMismatch() {
+        // Given
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
+        when(resultRepository.updateFields(eq(1L), any(Result.class), eq(2L))).thenReturn(0);
+        when(resultRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class,
+            () -> resultService.updateResult(1L, resultRequestDTO, 2L));
+    }
+
+    @Test
+    @DisplayName("Actualizar resultado - Versión de If-Match sobre resultado eliminado")
+    void testUpdateResult_VersionOnDeletedResult() {
+        // Given
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
+        when(resultRepository.updateFields(eq(1L), any(Result.class), eq(2L))).thenReturn(0);
+        when(resultRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> resultService.updateResult(1L, resultRequestDTO, 2L));
+    }
+
+    @Test
+    @DisplayName("ETag de resultado - Solo consulta la versión")
+    void testGetResultEtag() {
+        // Given
+        when(resultRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // When & Then
+        assertEquals(Optional.of("\"1-5\""), resultService.getResultEtag(1L));
+        verify(resultRepository, never()).findResponseById(anyLong());
     }
 
     @Test
     @DisplayName("Actualizar resultado - Laboratorio no encontrado")
     void testUpdateResult_LabNotFound() {
         // Given
-        when(resultRepository.findById(1L)).thenReturn(Optional.of(testResult));
-        when(labRepository.findById(1L)).thenReturn(Optional.empty());
+        when(labCatalog.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
             ResourceNotFoundException.class,
-            () -> resultService.updateResult(1L, resultRequestDTO)
+            () -> resultService.updateResult(1L, resultRequestDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Laboratorio no encontrado"));
-        verify(resultRepository, never()).save(any(Result.class));
+        verify(resultRepository, never()).updateFields(anyLong(), any(Result.class), anyLong());
     }
 
     @Test
@@ -282,7 +489,7 @@ class ResultServiceTest {
     }
 
     @Test
-    @DisplayName("Mapear a DTO - Lab nulo")
+    @DisplayName("Mapear a DTO - Lab nulo en la entidad, nombre desde el catálogo")
     void testMapToResponseDTO_NullLab() {
         // Given
         Result resultWithoutLab = new Result();
@@ -295,7 +502,7 @@ class ResultServiceTest {
         resultWithoutLab.setResultDate(LocalDate.now());
         resultWithoutLab.setLab(null);
 
-        when(labRepository.findById(1L)).thenReturn(Optional.of(testLab));
+        when(labCatalog.findById(1L)).thenReturn(Optional.of(testLabDTO));
         when(resultRepository.save(any(Result.class))).thenReturn(resultWithoutLab);
 
         ResultRequestDTO dto = new ResultRequestDTO();
@@ -311,6 +518,169 @@ class ResultServiceTest {
 
         // Then
         assertNotNull(result);
-        assertNull(result.getLabName());
+        assertEquals("Laboratorio Central", result.getLabName());
+    }
+
+    @Test
+    @DisplayName("Página de resultados - Primera página con siguiente cursor")
+    void testGetResultsPage_FirstPageWithNext() {
+        // Given
+        ResultResponseDTO result2 = new ResultResponseDTO();
+        result2.setId(2L);
+        result2.setUserId(100L);
+        result2.setLabId(1L);
+        when(resultRepository.findResponsesAfterId(0L, Limit.of(2)))
+            .thenReturn(Arrays.asList(testResponse, result2));
+
+        // When
+        ResultPageDTO<ResultResponseDTO> page = resultService.getResultsPage(null, 1);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals(1, page.getSize());
+        assertNotNull(page.getNextCursor());
+
+        // El cursor devuelto continúa desde el último ID entregado
+        when(resultRepository.findResponsesAfterId(1L, Limit.of(2)))
+            .thenReturn(List.of(result2));
+        ResultPageDTO<ResultResponseDTO> nextPage = resultService.getResultsPage(page.getNextCursor(), 1);
+        assertEquals(2L, nextPage.getItems().get(0).getId());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Página de resultados - Tamaño por defecto y máximo")
+    void testGetResultsPage_PageSizeBounds() {
+        // Given
+        when(resultRepository.findResponsesAfterId(eq(0L), any(Limit.class)))
+            .thenReturn(List.of(testResponse));
+
+        // When
+        ResultPageDTO<ResultResponseDTO> defaultPage = resultService.getResultsPage("", null);
+        ResultPageDTO<ResultResponseDTO> cappedPage = resultService.getResultsPage(null, 10_000);
+
+        // Then
+        assertEquals(ResultService.DEFAULT_PAGE_SIZE, defaultPage.getSize());
+        assertEquals(ResultService.MAX_PAGE_SIZE, cappedPage.getSize());
+        assertNull(defaultPage.getNextCursor());
+        verify(resultRepository).findResponsesAfterId(0L, Limit.of(ResultService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Página de resultados - Cursor o tamaño inválido")
+    void testGetResultsPage_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> resultService.getResultsPage("no-es-un-cursor!", 10));
+        assertThrows(IllegalArgumentException.class, () -> resultService.getResultsPage(null, 0));
+        verify(resultRepository, never()).findResponsesAfterId(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Exportar resultados - Recorre el stream de proyecciones")
+    void testExportResults_StreamsProjection() {
+        // Given
+        when(resultRepository.streamAllResponses()).thenReturn(Stream.of(testResponse));
+        List<ResultResponseDTO> exported = new ArrayList<>();
+
+        // When
+        long count = resultService.exportResults(exported::add);
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(1, exported.size());
+        assertEquals("Laboratorio Central", exported.get(0).getLabName());
+        verify(resultRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Resumen por userId - Sin VALUE_JSON")
+    void testGetResultSummariesByUserId_Success() {
+        // Given
+        ResultSummaryDTO summary = new ResultSummaryDTO(1L, 100L, 1L, "Laboratorio Central",
+            "Hemograma", "COMPLETADO", LocalDate.of(2024, 1, 15));
+        when(resultRepository.findSummariesByUserId(100L)).thenReturn(List.of(summary));
+
+        // When
+        List<ResultSummaryDTO> summaries = resultService.getResultSummariesByUserId(100L);
+
+        // Then
+        assertEquals(1, summaries.size());
+        assertEquals("Hemograma", summaries.get(0).getTestType());
+        verify(resultRepository, never()).findResponsesByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Página de resúmenes - Cursor siguiente desde el último ID")
+    void testGetResultSummariesPage_WithNext() {
+        // Given
+        ResultSummaryDTO first = new ResultSummaryDTO(5L, 100L, 1L, "Laboratorio Central", "Hemograma", "COMPLETADO", null);
+        ResultSummaryDTO second = new ResultSummaryDTO(7L, 100L, 1L, "Laboratorio Central", "Glucosa", "PENDIENTE", null);
+        when(resultRepository.findSummariesAfterId(0L, Limit.of(2))).thenReturn(List.of(first, second));
+        when(resultRepository.findSummariesAfterId(5L, Limit.of(2))).thenReturn(List.of(second));
+
+        // When
+        ResultPageDTO<ResultSummaryDTO> page = resultService.getResultSummariesPage(null, 1);
+        ResultPageDTO<ResultSummaryDTO> nextPage = resultService.getResultSummariesPage(page.getNextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(first), page.getItems());
+        assertEquals(List.of(second), nextPage.getItems());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Búsqueda filtrada - El cursor siguiente continúa desde la última fila")
+    void testSearchResults_WithNext() {
+        // Given
+        ResultFilterDTO filter = new ResultFilterDTO(100L, null, List.of("COMPLETADO"), null, null, null);
+        ResultSummaryDTO first = new ResultSummaryDTO(9L, 100L, 1L, "Laboratorio Central", "Hemograma", "COMPLETADO",
+            LocalDate.of(2024, 2, 1));
+        ResultSummaryDTO second = new ResultSummaryDTO(4L, 100L, 1L, "Laboratorio Central", "Glucosa", "COMPLETADO",
+            LocalDate.of(2024, 1, 15));
+        when(resultRepository.searchSummaries(any(), eq(true), eq(2)))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(second));
+
+        // When
+        ResultPageDTO<ResultSummaryDTO> page = resultService.searchResults(filter, "desc", null, 1);
+        ResultPageDTO<ResultSummaryDTO> nextPage = resultService.searchResults(filter, "desc", page.getNextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(first), page.getItems());
+        assertNotNull(page.getNextCursor());
+        assertEquals(List.of(second), nextPage.getItems());
+        assertNull(nextPage.getNextCursor());
+        verify(resultRepository, times(2)).searchSummaries(any(Specification.class), eq(true), eq(2));
+    }
+
+    @Test
+    @DisplayName("Búsqueda filtrada - Cursor generado con otro orden")
+    void testSearchResults_CursorOrderMismatch() {
+        // Given
+        ResultFilterDTO filter = new ResultFilterDTO();
+        ResultSummaryDTO first = new ResultSummaryDTO(1L, 100L, 1L, "Laboratorio Central", "Hemograma", "PENDIENTE", null);
+        ResultSummaryDTO second = new ResultSummaryDTO(2L, 100L, 1L, "Laboratorio Central", "Glucosa", "PENDIENTE", null);
+        when(resultRepository.searchSummaries(any(), eq(false), eq(2))).thenReturn(List.of(first, second));
+        String ascendingCursor = resultService.searchResults(filter, "asc", null, 1).getNextCursor();
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> resultService.searchResults(filter, "desc", ascendingCursor, 1));
+        assertEquals("Cursor inválido", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> resultService.searchResults(filter, "desc", "no-es-cursor", 1));
+    }
+
+    @Test
+    @DisplayName("Búsqueda filtrada - Orden o rango de fechas inválido")
+    void testSearchResults_InvalidArguments() {
+        // Given
+        ResultFilterDTO filter = new ResultFilterDTO(null, null, null, null,
+            LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> resultService.searchResults(new ResultFilterDTO(), "fecha", null, null));
+        assertThrows(IllegalArgumentException.class, () -> resultService.searchResults(filter, "desc", null, null));
+        verify(resultRepository, never()).searchSummaries(any(), anyBoolean(), anyInt());
     }
 }
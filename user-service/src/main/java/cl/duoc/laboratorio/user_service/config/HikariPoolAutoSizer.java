@@ -0,0 +1,66 @@
+package cl.duoc.laboratorio.user_service.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ajuste adaptativo del tamaño máximo del pool Hikari (datasource.pool.adaptive.enabled=true).
+ * Crece cuando hay solicitudes esperando conexión, hasta el techo configurado, y vuelve hacia
+ * spring.datasource.hikari.maximum-pool-size cuando el pool pasa varias muestras seguidas con
+ * menos de la mitad de sus conexiones en uso.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datasource.pool.adaptive.enabled", havingValue = "true")
+public class HikariPoolAutoSizer {
+
+    // Muestras ociosas consecutivas antes de liberar una conexión
+    static final int SHRINK_AFTER_IDLE_SAMPLES = 6;
+
+    private final HikariDataSource dataSource;
+    private final int floor;
+    private final int ceiling;
+    private int idleSamples;
+
+    public HikariPoolAutoSizer(HikariDataSource dataSource,
+                               @Value("${datasource.pool.adaptive.max-size:10}") int ceiling) {
+        this.dataSource = dataSource;
+        this.floor = dataSource.getMaximumPoolSize();
+        this.ceiling = Math.max(ceiling, floor);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.pool.adaptive.interval:10s}")
+    public void adjust() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return; // El pool aún no se inicia
+        }
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int pending = pool.getThreadsAwaitingConnection();
+
+        if (pending > 0) {
+            idleSamples = 0;
+            int target = Math.min(ceiling, current + pending);
+            if (target > current) {
+                config.setMaximumPoolSize(target);
+                log.info("Pool {}: {} solicitudes esperando conexión, máximo {} -> {}",
+                    config.getPoolName(), pending, current, target);
+            }
+        } else if (current > floor && pool.getActiveConnections() * 2 < current) {
+            if (++idleSamples >= SHRINK_AFTER_IDLE_SAMPLES) {
+                idleSamples = 0;
+                config.setMaximumPoolSize(current - 1);
+                log.info("Pool {} ocioso, máximo {} -> {}", config.getPoolName(), current, current - 1);
+            }
+        } else {
+            idleSamples = 0;
+        }
+    }
+}
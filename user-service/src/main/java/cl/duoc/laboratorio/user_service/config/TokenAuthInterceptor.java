@@ -0,0 +1,47 @@
+package cl.duoc.laboratorio.user_service.config;
+
+import cl.duoc.laboratorio.user_service.exception.UnauthorizedException;
+import cl.duoc.laboratorio.user_service.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Exige un token de sesión válido en Authorization: Bearer cuando auth.token.enforce=true.
+ * Desactivado por defecto para no romper clientes que aún no envían el token.
+ */
+@Component
+public class TokenAuthInterceptor implements HandlerInterceptor {
+
+    public static final String CLAIMS_ATTRIBUTE = "authTokenClaims";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final boolean enforce;
+
+    public TokenAuthInterceptor(TokenService tokenService,
+                                @Value("${auth.token.enforce:false}") boolean enforce) {
+        this.tokenService = tokenService;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enforce || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, tokenService.verify(extractBearerToken(request.getHeader(HttpHeaders.AUTHORIZATION))));
+        return true;
+    }
+
+    public static String extractBearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            throw new UnauthorizedException("Token no informado");
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+}
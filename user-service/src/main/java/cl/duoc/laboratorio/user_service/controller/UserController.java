@@ -2,18 +2,38 @@ package cl.duoc.laboratorio.user_service.controller;
 
 import cl.duoc.laboratorio.user_service.dto.LoginRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.LoginResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.RoleDTO;
+import cl.duoc.laboratorio.user_service.dto.UserImportEventDTO;
+import cl.duoc.laboratorio.user_service.dto.UserPageDTO;
 import cl.duoc.laboratorio.user_service.dto.UserRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.UserResponseDTO;
+import cl.duoc.laboratorio.user_service.config.TokenAuthInterceptor;
+import cl.duoc.laboratorio.user_service.service.EntityTag;
+import cl.duoc.laboratorio.user_service.service.TokenService;
+import cl.duoc.laboratorio.user_service.service.UserImportService;
 import cl.duoc.laboratorio.user_service.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
@@ -21,6 +41,9 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final TokenService tokenService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(@Valid @RequestBody UserRequestDTO requestDTO) {
@@ -28,24 +51,92 @@ public class UserController {
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import",
+        consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream input) {
+        ObjectWriter writer = objectMapper.writerFor(UserImportEventDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                try {
+                    // Cada evento (error de fila, avance de bloque o resumen) se envía apenas ocurre
+                    userImportService.importUsers(input, contentType, event -> {
+                        try {
+                            writer.writeValue(generator, event);
+                            generator.writeRaw('\n');
+                            generator.flush();
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                } catch (IllegalArgumentException ex) {
+                    // La respuesta ya comenzó: un archivo inválido se informa como última línea
+                    writer.writeValue(generator, new UserImportEventDTO("error", null, null, ex.getMessage(), null, null, null));
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @GetMapping
     public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
         List<UserResponseDTO> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<UserPageDTO> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        UserPageDTO page = userService.getUsersPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/roles")
+    public ResponseEntity<List<RoleDTO>> getAllRoles() {
+        List<RoleDTO> roles = userService.getAllRoles();
+        return ResponseEntity.ok(roles);
+    }
+
+    @PostMapping("/roles/refresh")
+    public ResponseEntity<Map<String, String>> refreshRoles() {
+        userService.refreshRoles();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Registro de roles recargado");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id, WebRequest request, HttpServletResponse response) {
+        Optional<String> etag = userService.getUserEtag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+        // checkNotModified ya escribió el ETag de la consulta de versión; se reemplaza por el de la fila
+        // devuelta, así ETag y cuerpo coinciden aunque el registro haya cambiado entre ambas lecturas
         UserResponseDTO user = userService.getUserById(id);
+        response.setHeader(HttpHeaders.ETAG, EntityTag.format(id, user.getVersion()));
         return ResponseEntity.ok(user);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(
             @PathVariable Long id,
-            @Valid @RequestBody UserRequestDTO requestDTO) {
-        UserResponseDTO updatedUser = userService.updateUser(id, requestDTO);
-        return ResponseEntity.ok(updatedUser);
+            @Valid @RequestBody UserRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Sin If-Match responde 428: el UPDATE siempre compara la versión
+        long expectedVersion = EntityTag.expectedVersion(id, ifMatch);
+        UserResponseDTO updatedUser = userService.updateUser(id, requestDTO, expectedVersion);
+        // La nueva versión es conocida sin releer la fila
+        return ResponseEntity.ok().eTag(EntityTag.format(id, updatedUser.getVersion())).body(updatedUser);
     }
 
     @DeleteMapping("/{id}")
@@ -61,4 +152,13 @@ public class UserController {
         LoginResponseDTO loginResponse = userService.login(loginRequest);
         return ResponseEntity.ok(loginResponse);
     }
+
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        tokenService.revoke(TokenAuthInterceptor.extractBearerToken(authorization));
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Sesión cerrada correctamente");
+        return ResponseEntity.ok(response);
+    }
 }
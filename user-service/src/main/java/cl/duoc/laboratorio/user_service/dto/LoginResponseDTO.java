@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,8 @@ public class LoginResponseDTO {
     private String email;
     private String rol;
     private String message;
+    private String token;
+    private Instant expiresAt;
+    // Versión del usuario, para enviar If-Match al actualizar el perfil
+    private Long version;
 }
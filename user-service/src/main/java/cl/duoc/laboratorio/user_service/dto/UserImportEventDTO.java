@@ -0,0 +1,37 @@
+package cl.duoc.laboratorio.user_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Línea del reporte NDJSON de la importación masiva.
+ * type = error (una fila rechazada), progress (fin de un bloque) o summary (fin de la importación).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportEventDTO {
+
+    private String type;
+    private Long line;
+    private String email;
+    private String message;
+    private Long processed;
+    private Long inserted;
+    private Long failed;
+
+    public static UserImportEventDTO error(long line, String email, String message) {
+        return new UserImportEventDTO("error", line, email, message, null, null, null);
+    }
+
+    public static UserImportEventDTO progress(long processed, long inserted, long failed) {
+        return new UserImportEventDTO("progress", null, null, null, processed, inserted, failed);
+    }
+
+    public static UserImportEventDTO summary(long processed, long inserted, long failed) {
+        return new UserImportEventDTO("summary", null, null, null, processed, inserted, failed);
+    }
+}
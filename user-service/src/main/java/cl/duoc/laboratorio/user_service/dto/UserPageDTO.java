@@ -0,0 +1,17 @@
+package cl.duoc.laboratorio.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDTO {
+
+    private List<UserResponseDTO> items;
+    private String nextCursor;
+    private int size;
+}
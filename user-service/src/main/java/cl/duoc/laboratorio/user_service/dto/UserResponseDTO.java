@@ -14,4 +14,6 @@ public class UserResponseDTO {
     private String apellido;
     private String email;
     private String rol;
+    // Versión de la fila: la misma que forma el ETag "id-versión"
+    private Long version;
 }
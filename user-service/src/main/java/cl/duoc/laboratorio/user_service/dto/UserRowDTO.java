@@ -0,0 +1,21 @@
+package cl.duoc.laboratorio.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila plana de USERS con el nombre de su rol, leída en una sola consulta
+ * (sin cargar la colección de roles de cada usuario).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRowDTO {
+
+    private Long id;
+    private String email;
+    private String fullName;
+    private String rol;
+    private Long version;
+}
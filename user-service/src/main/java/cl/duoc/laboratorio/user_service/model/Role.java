@@ -14,7 +14,8 @@ public class Role {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "role_seq")
-    @SequenceGenerator(name = "role_seq", sequenceName = "ROLES_SEQ", allocationSize = 1)
+    // ROLES_SEQ incrementa de a 50: un NEXTVAL reserva un bloque de IDs (optimizador pooled)
+    @SequenceGenerator(name = "role_seq", sequenceName = "ROLES_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
@@ -17,7 +17,8 @@ public class User {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
-    @SequenceGenerator(name = "user_seq", sequenceName = "USERS_SEQ", allocationSize = 1)
+    // USERS_SEQ incrementa de a 50: un NEXTVAL reserva un bloque de IDs (optimizador pooled)
+    @SequenceGenerator(name = "user_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
@@ -30,6 +31,11 @@ public class User {
     @Column(name = "FULL_NAME", nullable = false, length = 150)
     private String fullName;
 
+    // Se incrementa en cada UPDATE, incluidos los cambios de roles; es el ETag de GET /api/users/{id}
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "USER_ROLES",
@@ -1,15 +1,74 @@
 package cl.duoc.laboratorio.user_service.repository;
 
+import cl.duoc.laboratorio.user_service.dto.UserRowDTO;
 import cl.duoc.laboratorio.user_service.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // USERS + USER_ROLES + ROLES en una sola consulta; min() deja un rol determinístico por usuario
+    String ROW_PROJECTION = "select new cl.duoc.laboratorio.user_service.dto.UserRowDTO("
+        + "u.id, u.email, u.fullName, min(r.name), u.version) from User u left join u.roles r ";
+    String ROW_GROUP_BY = "group by u.id, u.email, u.fullName, u.version order by u.id";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * UPDATE directo de USERS, sin SELECT previo, solo cuando la versión coincide.
+     * passwordHash null conserva la contraseña actual.
+     */
+    @Modifying
+    @Query("update User u set u.email = :email, u.fullName = :fullName, "
+        + "u.passwordHash = coalesce(:passwordHash, u.passwordHash), u.version = u.version + 1 "
+        + "where u.id = :id and u.version = :version")
+    int updateProfile(@Param("id") Long id,
+                      @Param("email") String email,
+                      @Param("fullName") String fullName,
+                      @Param("passwordHash") String passwordHash,
+                      @Param("version") Long version);
+
+    // Roles del usuario sin cargar la colección: se borran los distintos al nuevo y se agrega si falta
+    @Modifying
+    @Query(value = "delete from USER_ROLES where USER_ID = :userId and ROLE_ID <> :roleId", nativeQuery = true)
+    int deleteOtherRoles(@Param("userId") Long userId, @Param("roleId") Long roleId);
+
+    @Modifying
+    @Query(value = "insert into USER_ROLES (USER_ID, ROLE_ID) select :userId, :roleId from DUAL "
+        + "where not exists (select 1 from USER_ROLES where USER_ID = :userId and ROLE_ID = :roleId)", nativeQuery = true)
+    int insertRoleIfMissing(@Param("userId") Long userId, @Param("roleId") Long roleId);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.email from User u")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<String> streamAllEmails();
+
+    @Query(ROW_PROJECTION + ROW_GROUP_BY)
+    List<UserRowDTO> findAllRows();
+
+    @Query(ROW_PROJECTION + "where u.id > :afterId " + ROW_GROUP_BY)
+    List<UserRowDTO> findRowsAfterId(@Param("afterId") Long afterId, Limit limit);
 }
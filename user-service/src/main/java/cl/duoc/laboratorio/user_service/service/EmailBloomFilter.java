@@ -0,0 +1,153 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom con los emails de USERS.
+ * Si el filtro dice que un email no existe, es seguro (sin falsos negativos para los emails
+ * que esta instancia conoce) y se evita la consulta existsByEmail. Un positivo puede ser falso
+ * y se confirma en la base de datos. La restricción UNIQUE de EMAIL sigue siendo la garantía
+ * final, por ejemplo para emails insertados por otra instancia.
+ * Mientras no termine la primera carga, el filtro responde "puede existir" para todo.
+ */
+@Slf4j
+@Component
+public class EmailBloomFilter {
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Bits active;
+    private volatile Bits building;
+
+    public EmailBloomFilter(UserRepository userRepository,
+                            @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContain(String email) {
+        Bits current = active;
+        return current == null || current.mightContain(email);
+    }
+
+    public void add(String email) {
+        Bits current = active;
+        if (current != null) {
+            current.put(email);
+        }
+        // Los emails escritos durante una reconstrucción también entran en el filtro nuevo
+        Bits next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    /**
+     * Reconstruye el filtro leyendo los emails en streaming. Se ejecuta al iniciar y
+     * periódicamente para descartar emails eliminados y ajustar el tamaño si USERS creció.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${users.email-filter.rebuild-cron:0 30 3 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // ReentrantLock y no synchronized: la lectura JDBC bloquea y, con hilos virtuales,
+        // un monitor fijaría el hilo a su carrier durante toda la carga
+        rebuildLock.lock();
+        try {
+            long capacity = Math.max(expectedInsertions, userRepository.count() * 2);
+            Bits next = new Bits(capacity, falsePositiveRate);
+            building = next;
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(next::put);
+            } finally {
+                building = null;
+            }
+            active = next;
+            log.info("Filtro de emails reconstruido: capacidad {}, {} bits, {} funciones hash",
+                capacity, next.bitSize, next.hashFunctions);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    boolean isReady() {
+        return active != null;
+    }
+
+    /**
+     * Arreglo de bits con k posiciones por elemento, derivadas de un hash de 64 bits
+     * con doble hashing (h1 + i*h2). AtomicLongArray permite escrituras concurrentes.
+     */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashFunctions;
+
+        Bits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+            this.bitSize = (long) words.length() * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitSize);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = words.get(index);
+                while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                    word = words.get(index);
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a de 64 bits con una mezcla final para repartir mejor los bits altos
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
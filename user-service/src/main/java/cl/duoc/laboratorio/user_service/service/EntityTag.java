@@ -0,0 +1,47 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.exception.PreconditionFailedException;
+import cl.duoc.laboratorio.user_service.exception.PreconditionRequiredException;
+
+/**
+ * ETag fuerte por entidad con la forma "id-versión".
+ * En un PUT, If-Match es obligatorio y se traduce a la versión esperada del UPDATE condicional.
+ */
+public final class EntityTag {
+
+    private EntityTag() {
+    }
+
+    public static String format(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Versión esperada según If-Match. Sin encabezado (o con "*", que no indica versión) lanza
+     * PreconditionRequiredException: un PUT sin versión podría sobrescribir un cambio ajeno.
+     * Lanza PreconditionFailedException si ninguna etiqueta corresponde al recurso.
+     */
+    public static long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            throw new PreconditionRequiredException("Se requiere If-Match con el ETag del recurso " + id
+                + " (obtenido con GET) para actualizarlo");
+        }
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            // If-Match usa comparación fuerte: una etiqueta débil (W/) nunca coincide
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (value.startsWith(prefix)) {
+                try {
+                    return Long.parseLong(value.substring(prefix.length()));
+                } catch (NumberFormatException ex) {
+                    // Etiqueta ajena: se sigue con la siguiente
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match no corresponde a la versión actual del recurso " + id);
+    }
+}
@@ -0,0 +1,89 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica contraseñas BCrypt en un pool acotado, fuera de la transacción.
+ * Cada verificación consume decenas de milisegundos de CPU; el pool limita cuántas
+ * corren a la vez y la cola cuántas pueden esperar. Si ambos están llenos se responde
+ * 429 en lugar de acumular solicitudes que degradan al resto de los endpoints.
+ */
+@Component
+public class PasswordVerifier {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final String SATURATED_MESSAGE = "Demasiados inicios de sesión simultáneos, intente nuevamente";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${auth.password.threads:0}") int threads,
+                            @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+                            @Value("${auth.password.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        // Por defecto un hilo por núcleo: BCrypt es CPU pura y más hilos solo agregan cambios de contexto
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-verifier-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+        } catch (RejectedExecutionException ex) {
+            throw new TooManyRequestsException(SATURATED_MESSAGE, RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // La cola tardó demasiado: se descarta la verificación pendiente
+            result.cancel(true);
+            throw new TooManyRequestsException(SATURATED_MESSAGE, RETRY_AFTER_SECONDS);
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificación de contraseña interrumpida", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Error al verificar la contraseña", ex.getCause());
+        }
+    }
+
+    int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
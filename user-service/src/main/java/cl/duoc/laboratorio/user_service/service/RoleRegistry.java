@@ -0,0 +1,74 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.dto.RoleDTO;
+import cl.duoc.laboratorio.user_service.model.Role;
+import cl.duoc.laboratorio.user_service.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro en memoria de los roles, indexado por nombre.
+ * ROLES tiene unas pocas filas que casi nunca cambian, así que crear o actualizar
+ * un usuario resuelve su rol sin consultar la base de datos. La foto es inmutable y
+ * se reemplaza completa en cada recarga (programada o desde el endpoint de administración).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Sin initialDelay la primera ejecución ocurre al iniciar, así que el registro queda precargado
+    @Scheduled(fixedDelayString = "${roles.registry.refresh-interval:10m}")
+    public void refresh() {
+        List<Role> roles = roleRepository.findAll();
+        snapshot = new Snapshot(roles.stream()
+            .map(role -> new Role(role.getId(), role.getName()))
+            .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity())));
+        log.debug("Registro de roles recargado: {} roles", roles.size());
+    }
+
+    /**
+     * Retorna una copia desacoplada del rol: sirve como referencia para USER_ROLES
+     * sin que quien la recibe pueda modificar el registro compartido.
+     */
+    public Optional<Role> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().rolesByName().get(name))
+            .map(role -> new Role(role.getId(), role.getName()));
+    }
+
+    public List<RoleDTO> getAllRoles() {
+        return current().rolesByName().values().stream()
+            .sorted(Comparator.comparing(Role::getId))
+            .map(role -> new RoleDTO(role.getId(), role.getName()))
+            .toList();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Solo ocurre si llega una solicitud antes de la primera recarga programada
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<String, Role> rolesByName) {
+    }
+}
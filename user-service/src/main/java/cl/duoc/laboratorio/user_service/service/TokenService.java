@@ -0,0 +1,152 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.exception.UnauthorizedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emite y valida tokens de sesión firmados con HMAC-SHA256.
+ * El token es autocontenido (usuario, rol y expiración van en el payload), así que
+ * cualquier servicio con el mismo secreto lo valida sin consultar la base de datos
+ * ni volver a ejecutar BCrypt. Formato: base64url(payload).base64url(firma), con
+ * payload = tokenId|userId|rol|expiración (epoch s)|email.
+ * Los tokens revocados con logout se guardan en memoria hasta que expiran. La revocación solo
+ * la conoce esta instancia: los demás servicios validan firma y expiración, así que un token
+ * revocado sigue sirviendo allí hasta auth.token.ttl (por eso la vigencia es corta).
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final int PAYLOAD_PARTS = 5;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(@Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public IssuedToken issue(Long userId, String email, String role) {
+        Instant expiresAt = clock.instant().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        String payload = String.join("|", UUID.randomUUID().toString(), String.valueOf(userId), role,
+            String.valueOf(expiresAt.getEpochSecond()), email);
+        String encodedPayload = encode(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + "." + encode(sign(encodedPayload)), expiresAt);
+    }
+
+    public TokenClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new UnauthorizedException("Token no informado");
+        }
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        String encodedPayload = token.substring(0, separator);
+        byte[] signature;
+        String[] parts;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            parts = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8)
+                .split("\\|", PAYLOAD_PARTS);
+        } catch (IllegalArgumentException ex) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        // Comparación en tiempo constante para no filtrar cuántos bytes de la firma coinciden
+        if (!MessageDigest.isEqual(sign(encodedPayload), signature) || parts.length != PAYLOAD_PARTS) {
+            throw new UnauthorizedException("Token inválido");
+        }
+
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(parts[0], Long.parseLong(parts[1]), parts[4], parts[2],
+                Instant.ofEpochSecond(Long.parseLong(parts[3])));
+        } catch (NumberFormatException ex) {
+            throw new UnauthorizedException("Token inválido");
+        }
+        if (!clock.instant().isBefore(claims.expiresAt())) {
+            throw new UnauthorizedException("Token expirado");
+        }
+        if (revokedTokens.containsKey(claims.tokenId())) {
+            throw new UnauthorizedException("Token revocado");
+        }
+        return claims;
+    }
+
+    public void revoke(String token) {
+        TokenClaims claims = verify(token);
+        revokedTokens.put(claims.tokenId(), claims.expiresAt());
+        // Un token expirado ya no es válido por sí mismo: no hace falta recordarlo
+        Instant now = clock.instant();
+        revokedTokens.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+    }
+
+    int getRevokedCount() {
+        return revokedTokens.size();
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo firmar el token", ex);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Sin secreto configurado los tokens solo sirven para esta instancia y se invalidan al reiniciar
+            log.warn("auth.token.secret no está configurado; se usa un secreto aleatorio y los demás servicios no podrán validar los tokens");
+            byte[] random = new byte[MIN_SECRET_LENGTH];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("auth.token.secret debe tener al menos " + MIN_SECRET_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    public record TokenClaims(String tokenId, Long userId, String email, String role, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,321 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.dto.UserImportEventDTO;
+import cl.duoc.laboratorio.user_service.dto.UserRequestDTO;
+import cl.duoc.laboratorio.user_service.model.Role;
+import cl.duoc.laboratorio.user_service.model.User;
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios desde CSV o NDJSON.
+ * El archivo se procesa por bloques: validación por fila, descarte de emails repetidos o
+ * existentes (una consulta IN por bloque), hash BCrypt en paralelo en un pool acotado e
+ * inserción por lotes JDBC en una transacción por bloque. Si el bloque choca con UNIQUE(EMAIL),
+ * se reintenta fila por fila. Cada fila rechazada y cada bloque terminado se informan de inmediato
+ * al consumidor.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    // Bajo el límite de 1000 elementos de Oracle para IN y múltiplo de hibernate.jdbc.batch_size
+    static final int CHUNK_SIZE = 500;
+    static final List<String> CSV_COLUMNS = List.of("email", "password", "nombre", "apellido", "rol");
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final EmailBloomFilter emailFilter;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashPool;
+
+    public UserImportService(UserRepository userRepository,
+                             RoleRegistry roleRegistry,
+                             EmailBloomFilter emailFilter,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${users.import.hash-parallelism:0}") int hashParallelism) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.emailFilter = emailFilter;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Pool propio para que el hash masivo no ocupe el common pool ni compita sin límite por CPU
+        this.hashPool = new ForkJoinPool(hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public UserImportEventDTO importUsers(InputStream input, MediaType format, Consumer<UserImportEventDTO> listener) {
+        boolean csv = isCsv(format);
+        long[] counters = new long[3]; // procesadas, insertadas, fallidas
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseCsvLine(text).stream().map(column -> column.trim().toLowerCase()).toList();
+                    if (!header.containsAll(CSV_COLUMNS)) {
+                        throw new IllegalArgumentException("El CSV debe tener las columnas: " + String.join(",", CSV_COLUMNS));
+                    }
+                    continue;
+                }
+                chunk.add(new ImportRow(lineNumber, text, null, null));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, csv, header, seenEmails, counters, listener);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, csv, header, seenEmails, counters, listener);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        UserImportEventDTO summary = UserImportEventDTO.summary(counters[0], counters[1], counters[2]);
+        listener.accept(summary);
+        return summary;
+    }
+
+    private void processChunk(List<ImportRow> rawRows, boolean csv, List<String> header, Set<String> seenEmails,
+                              long[] counters, Consumer<UserImportEventDTO> listener) {
+        long failedBefore = counters[2];
+
+        // 1. Parseo y validación por fila, con las mismas reglas que POST /api/users
+        List<ImportRow> rows = new ArrayList<>(rawRows.size());
+        for (ImportRow raw : rawRows) {
+            UserRequestDTO request;
+            try {
+                request = csv ? fromCsv(raw.text(), header) : objectMapper.readValue(raw.text(), UserRequestDTO.class);
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                reject(raw.line(), null, "Fila con formato inválido", counters, listener);
+                continue;
+            }
+            Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+                reject(raw.line(), request.getEmail(), message, counters, listener);
+            } else if (!seenEmails.add(request.getEmail())) {
+                reject(raw.line(), request.getEmail(), "Email repetido en el archivo", counters, listener);
+            } else {
+                rows.add(new ImportRow(raw.line(), raw.text(), request, null));
+            }
+        }
+
+        // 2. Emails ya registrados: una sola consulta por bloque, solo con los que el filtro no descarta
+        Set<String> candidates = rows.stream()
+            .map(row -> row.request().getEmail())
+            .filter(emailFilter::mightContain)
+            .collect(Collectors.toSet());
+        Set<String> existing = candidates.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(candidates));
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.request().getEmail())) {
+                reject(row.line(), row.request().getEmail(),
+                    "Ya existe un usuario con el email: " + row.request().getEmail(), counters, listener);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        // 3. Hash BCrypt en paralelo y 4. inserción por lotes en una transacción por bloque
+        if (!accepted.isEmpty()) {
+            List<ImportRow> hashed = hashPasswords(accepted);
+            try {
+                insertInNewTransaction(toUsers(hashed));
+                counters[1] += hashed.size();
+            } catch (DataIntegrityViolationException ex) {
+                // Un email insertado por otra vía durante la importación revierte el bloque: cada fila se
+                // reintenta en su propia transacción y solo se rechazan las que chocan
+                log.debug("Bloque de importación revertido, se reintenta fila por fila: {}", ex.getMessage());
+                for (ImportRow row : hashed) {
+                    try {
+                        insertInNewTransaction(toUsers(List.of(row)));
+                        counters[1]++;
+                    } catch (DataIntegrityViolationException rowEx) {
+                        reject(row.line(), row.request().getEmail(),
+                            "Ya existe un usuario con el email: " + row.request().getEmail(), counters, listener);
+                    }
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Error al insertar un bloque de la importación de usuarios", ex);
+                accepted.forEach(row -> reject(row.line(), row.request().getEmail(),
+                    "Error al insertar el bloque; reintente estas filas", counters, listener));
+            }
+        }
+
+        counters[0] += rawRows.size();
+        listener.accept(UserImportEventDTO.progress(counters[0], counters[1], counters[2]));
+        log.debug("Bloque de importación procesado: {} filas, {} rechazadas", rawRows.size(), counters[2] - failedBefore);
+    }
+
+    // Las entidades se crean de nuevo en cada intento: las de un intento revertido ya tienen ID asignado
+    private void insertInNewTransaction(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Con IDs de secuencia los INSERT se ejecutan recién en el flush; hacerlo a través del
+            // repositorio traduce la violación de UNIQUE(EMAIL) a DataIntegrityViolationException
+            userRepository.saveAllAndFlush(users);
+            entityManager.clear();
+        });
+        users.forEach(user -> emailFilter.add(user.getEmail()));
+    }
+
+    private List<ImportRow> hashPasswords(List<ImportRow> rows) {
+        try {
+            return hashPool.submit(() -> rows.parallelStream()
+                .map(row -> new ImportRow(row.line(), row.text(), row.request(),
+                    passwordEncoder.encode(row.request().getPassword())))
+                .toList()).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación interrumpida", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Error al generar los hash de contraseña", ex.getCause());
+        }
+    }
+
+    private List<User> toUsers(List<ImportRow> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            UserRequestDTO request = row.request();
+            User user = new User();
+            user.setEmail(request.getEmail());
+            user.setPasswordHash(row.passwordHash());
+            user.setFullName(request.getNombre() + " " + request.getApellido());
+            // Mismo criterio que createUser: un rol desconocido se asigna como PACIENTE
+            roleRegistry.findByName(request.getRol())
+                .or(() -> roleRegistry.findByName("PACIENTE"))
+                .ifPresent(role -> user.setRoles(new HashSet<>(Set.of(role))));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private void reject(long line, String email, String message, long[] counters, Consumer<UserImportEventDTO> listener) {
+        counters[2]++;
+        listener.accept(UserImportEventDTO.error(line, email, message));
+    }
+
+    private UserRequestDTO fromCsv(String text, List<String> header) {
+        List<String> values = parseCsvLine(text);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Cantidad de columnas incorrecta");
+        }
+        Map<String, String> byColumn = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byColumn.put(header.get(i), values.get(i).trim());
+        }
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail(byColumn.get("email"));
+        request.setPassword(byColumn.get("password"));
+        request.setNombre(byColumn.get("nombre"));
+        request.setApellido(byColumn.get("apellido"));
+        request.setRol(byColumn.get("rol"));
+        request.setRut(byColumn.get("rut"));
+        request.setTelefono(byColumn.get("telefono"));
+        request.setDireccion(byColumn.get("direccion"));
+        request.setFechaNacimiento(byColumn.get("fechanacimiento"));
+        return request;
+    }
+
+    // Separa una línea CSV respetando campos entre comillas ("" representa una comilla literal)
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Comillas sin cerrar");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static boolean isCsv(MediaType format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Content-Type requerido: text/csv o application/x-ndjson");
+        }
+        if (format.isCompatibleWith(MediaType.valueOf("text/csv"))) {
+            return true;
+        }
+        if (format.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Formato no soportado: use text/csv o application/x-ndjson");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    private record ImportRow(long line, String text, UserRequestDTO request, String passwordHash) {
+    }
+}
@@ -3,20 +3,25 @@ package cl.duoc.laboratorio.user_service.service;
 import cl.duoc.laboratorio.user_service.dto.LoginRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.LoginResponseDTO;
 import cl.duoc.laboratorio.user_service.dto.RoleDTO;
+import cl.duoc.laboratorio.user_service.dto.UserPageDTO;
 import cl.duoc.laboratorio.user_service.dto.UserRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.UserResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.UserRowDTO;
+import cl.duoc.laboratorio.user_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.user_service.exception.ResourceNotFoundException;
 import cl.duoc.laboratorio.user_service.model.Role;
 import cl.duoc.laboratorio.user_service.model.User;
-import cl.duoc.laboratorio.user_service.repository.RoleRepository;
 import cl.duoc.laboratorio.user_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,13 +29,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final TokenService tokenService;
+    private final EmailBloomFilter emailFilter;
 
     @Transactional
     public UserResponseDTO createUser(UserRequestDTO requestDTO) {
-        if (userRepository.existsByEmail(requestDTO.getEmail())) {
+        // Solo se consulta la BD si el filtro no descarta el email
+        if (emailFilter.mightContain(requestDTO.getEmail()) && userRepository.existsByEmail(requestDTO.getEmail())) {
             throw new IllegalArgumentException("Ya existe un usuario con el email: " + requestDTO.getEmail());
         }
 
@@ -42,29 +54,36 @@ public class UserService {
 
         // Mapear rol string a Role entity
         if (requestDTO.getRol() != null && !requestDTO.getRol().isEmpty()) {
-            Role role = roleRepository.findByName(requestDTO.getRol())
-                .orElseGet(() -> {
-                    // Si no existe el rol, crear uno por defecto (PACIENTE)
-                    return roleRepository.findByName("PACIENTE")
-                        .orElseThrow(() -> new ResourceNotFoundException("Rol PACIENTE no encontrado"));
-                });
+            Role role = resolveRole(requestDTO.getRol());
             Set<Role> roles = new HashSet<>();
             roles.add(role);
             user.setRoles(roles);
         }
 
-        User savedUser = userRepository.save(user);
+        User savedUser = saveWithUniqueEmail(user);
         return mapToResponseDTO(savedUser);
     }
 
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
+        // Una sola consulta con los roles unidos, en lugar de findAll() + una consulta de roles por usuario
+        return userRepository.findAllRows().stream()
             .map(this::mapToResponseDTO)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public UserPageDTO getUsersPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Long afterId = (cursor == null || cursor.isBlank()) ? 0L : CursorCodec.decodeId(cursor);
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<UserRowDTO> rows = userRepository.findRowsAfterId(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<UserRowDTO> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? CursorCodec.encode(pageRows.get(pageRows.size() - 1).getId()) : null;
+        return new UserPageDTO(pageRows.stream().map(this::mapToResponseDTO).toList(), nextCursor, pageSize);
+    }
+
     @Transactional(readOnly = true)
     public UserResponseDTO getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -72,37 +91,55 @@ public class UserService {
         return mapToResponseDTO(user);
     }
 
-    @Transactional
-    public UserResponseDTO updateUser(Long id, UserRequestDTO requestDTO) {
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + id));
-
-        if (!user.getEmail().equals(requestDTO.getEmail()) &&
-            userRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new IllegalArgumentException("Ya existe un usuario con el email: " + requestDTO.getEmail());
-        }
+    /**
+     * ETag de GET /api/users/{id}: lee solo la columna VERSION, sin cargar el usuario ni sus roles.
+     * Vacío si el usuario no existe.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getUserEtag(Long id) {
+        return userRepository.findVersionById(id).map(version -> EntityTag.format(id, version));
+    }
 
+    /**
+     * Actualiza con un UPDATE directo. expectedVersion viene de If-Match.
+     * La unicidad del email la garantiza la restricción UNIQUE y los roles solo se tocan si viene uno en la petición.
+     */
+    @Transactional
+    public UserResponseDTO updateUser(Long id, UserRequestDTO requestDTO, long expectedVersion) {
+        User user = new User();
+        user.setId(id);
+        user.setVersion(expectedVersion + 1);
         user.setEmail(requestDTO.getEmail());
-        if (requestDTO.getPassword() != null && !requestDTO.getPassword().isEmpty()) {
-            user.setPasswordHash(hashPassword(requestDTO.getPassword()));
-        }
         // Combinar nombre y apellido en fullName
         user.setFullName(requestDTO.getNombre() + " " + requestDTO.getApellido());
+        String passwordHash = null;
+        if (requestDTO.getPassword() != null && !requestDTO.getPassword().isEmpty()) {
+            passwordHash = hashPassword(requestDTO.getPassword());
+        }
+
+        int updated;
+        try {
+            updated = userRepository.updateProfile(id, user.getEmail(), user.getFullName(), passwordHash, expectedVersion);
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Ya existe un usuario con el email: " + user.getEmail());
+        }
+        if (updated == 0) {
+            if (userRepository.existsById(id)) {
+                throw new PreconditionFailedException("El usuario " + id + " fue modificado: la versión no coincide con If-Match");
+            }
+            throw new ResourceNotFoundException("Usuario no encontrado con id: " + id);
+        }
+        emailFilter.add(user.getEmail());
 
         // Mapear rol string a Role entity
         if (requestDTO.getRol() != null && !requestDTO.getRol().isEmpty()) {
-            Role role = roleRepository.findByName(requestDTO.getRol())
-                .orElseGet(() -> {
-                    return roleRepository.findByName("PACIENTE")
-                        .orElseThrow(() -> new ResourceNotFoundException("Rol PACIENTE no encontrado"));
-                });
-            Set<Role> roles = new HashSet<>();
-            roles.add(role);
-            user.setRoles(roles);
+            Role role = resolveRole(requestDTO.getRol());
+            // El INSERT siempre se ejecuta: es idempotente y cubre usuarios que no tenían rol asignado
+            userRepository.deleteOtherRoles(id, role.getId());
+            userRepository.insertRoleIfMissing(id, role.getId());
+            user.setRoles(new HashSet<>(Set.of(role)));
         }
-
-        User updatedUser = userRepository.save(user);
-        return mapToResponseDTO(updatedUser);
+        return mapToResponseDTO(user);
     }
 
     @Transactional
@@ -113,6 +150,60 @@ public class UserService {
         userRepository.deleteById(id);
     }
 
+    // Sin transacción: se responde desde memoria sin tomar una conexión
+    public List<RoleDTO> getAllRoles() {
+        return roleRegistry.getAllRoles();
+    }
+
+    public void refreshRoles() {
+        roleRegistry.refresh();
+    }
+
+    private User saveWithUniqueEmail(User user) {
+        // saveAndFlush hace que una violación de UNIQUE(EMAIL) aparezca aquí y no al confirmar:
+        // cubre los emails que el filtro no conocía (por ejemplo, insertados por otra instancia)
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Ya existe un usuario con el email: " + user.getEmail());
+        }
+        emailFilter.add(saved.getEmail());
+        return saved;
+    }
+
+    private Role resolveRole(String rol) {
+        // Los roles salen del registro en memoria; si no existe el rol se usa PACIENTE por defecto
+        return roleRegistry.findByName(rol)
+            .or(() -> roleRegistry.findByName("PACIENTE"))
+            .orElseThrow(() -> new ResourceNotFoundException("Rol PACIENTE no encontrado"));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private UserResponseDTO mapToResponseDTO(UserRowDTO row) {
+        UserResponseDTO dto = new UserResponseDTO();
+        dto.setId(row.getId());
+        dto.setEmail(row.getEmail());
+
+        // Separar fullName en nombre y apellido
+        String[] nombrePartes = row.getFullName().split(" ", 2);
+        dto.setNombre(nombrePartes.length > 0 ? nombrePartes[0] : "");
+        dto.setApellido(nombrePartes.length > 1 ? nombrePartes[1] : "");
+
+        dto.setRol(row.getRol() != null ? row.getRol() : "PACIENTE");
+        dto.setVersion(row.getVersion());
+        return dto;
+    }
+
     private UserResponseDTO mapToResponseDTO(User user) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.setId(user.getId());
@@ -129,15 +220,17 @@ public class UserService {
             .map(Role::getName)
             .orElse("PACIENTE"));
 
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
-    @Transactional(readOnly = true)
+    // Sin @Transactional: la búsqueda usa su propia transacción corta y la conexión
+    // vuelve al pool antes de verificar el hash (los roles se cargan EAGER)
     public LoginResponseDTO login(LoginRequestDTO loginRequest) {
         User user = userRepository.findByEmail(loginRequest.getEmail())
             .orElseThrow(() -> new ResourceNotFoundException("Credenciales inválidas"));
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash())) {
+        if (!passwordVerifier.matches(loginRequest.getPassword(), user.getPasswordHash())) {
             throw new IllegalArgumentException("Credenciales inválidas");
         }
 
@@ -156,8 +249,14 @@ public class UserService {
             .map(Role::getName)
             .orElse("PACIENTE"));
 
+        response.setVersion(user.getVersion());
         response.setMessage("Inicio de sesión exitoso");
 
+        // Las siguientes solicitudes se validan con el token, sin repetir BCrypt
+        TokenService.IssuedToken token = tokenService.issue(user.getId(), user.getEmail(), response.getRol());
+        response.setToken(token.token());
+        response.setExpiresAt(token.expiresAt());
+
         return response;
     }
 
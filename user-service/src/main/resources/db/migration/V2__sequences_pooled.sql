@@ -0,0 +1,6 @@
+-- ROLES_SEQ y USERS_SEQ pasan a incrementar de a 50
+-- Role y User usan allocationSize = 50 (optimizador pooled): cada NEXTVAL reserva un bloque de 50 IDs.
+-- Debe aplicarse antes de desplegar: Hibernate valida que el incremento coincida con allocationSize.
+
+ALTER SEQUENCE ROLES_SEQ INCREMENT BY 50;
+ALTER SEQUENCE USERS_SEQ INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Columna VERSION para control optimista y ETag de usuarios
+-- User usa @Version: cada UPDATE (incluido un cambio de roles) incrementa la versión.
+-- GET /api/users/{id} responde 304 comparando If-None-Match solo contra esta columna.
+-- Debe aplicarse antes de desplegar: con ddl-auto=validate Hibernate exige la columna.
+
+ALTER TABLE USERS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- La clave primaria de USER_ROLES empieza por USER_ID; ROLE_ID (clave foránea con ON DELETE CASCADE)
+-- necesita su propio índice para borrar roles sin recorrer la tabla. Con USER_ID como segunda columna
+-- la búsqueda de usuarios por rol se resuelve solo con el índice.
+CREATE INDEX IDX_USER_ROLES_ROLE_ID ON USER_ROLES (ROLE_ID, USER_ID);
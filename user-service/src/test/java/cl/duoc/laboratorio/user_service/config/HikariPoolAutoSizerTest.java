@@ -0,0 +1,118 @@
+package cl.duoc.laboratorio.user_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para HikariPoolAutoSizer
+ * Cobertura: crecimiento con solicitudes en espera, techo, reducción tras inactividad y pool sin iniciar
+ */
+@ExtendWith(MockitoExtension.class)
+class HikariPoolAutoSizerTest {
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private HikariDataSource dataSource;
+    private HikariPoolAutoSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = spy(new HikariDataSource());
+        dataSource.setPoolName("test-pool");
+        dataSource.setMaximumPoolSize(3);
+        sizer = new HikariPoolAutoSizer(dataSource, 6);
+    }
+
+    @Test
+    @DisplayName("Ajuste - Crece según las solicitudes en espera")
+    void testGrowsWithPendingThreads() {
+        // Given
+        doReturn(pool).when(dataSource).getHikariPoolMXBean();
+        when(pool.getThreadsAwaitingConnection()).thenReturn(2);
+
+        // When
+        sizer.adjust();
+
+        // Then
+        assertEquals(5, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Ajuste - No supera el techo configurado")
+    void testDoesNotExceedCeiling() {
+        // Given
+        doReturn(pool).when(dataSource).getHikariPoolMXBean();
+        when(pool.getThreadsAwaitingConnection()).thenReturn(20);
+
+        // When
+        sizer.adjust();
+        sizer.adjust();
+
+        // Then
+        assertEquals(6, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Ajuste - Reduce una conexión tras varias muestras ociosas sin bajar del mínimo")
+    void testShrinksAfterIdleSamples() {
+        // Given
+        doReturn(pool).when(dataSource).getHikariPoolMXBean();
+        when(pool.getThreadsAwaitingConnection()).thenReturn(2, 0);
+        when(pool.getActiveConnections()).thenReturn(0);
+        sizer.adjust();
+
+        // When
+        for (int i = 1; i < HikariPoolAutoSizer.SHRINK_AFTER_IDLE_SAMPLES; i++) {
+            sizer.adjust();
+        }
+        int sizeBeforeThreshold = dataSource.getMaximumPoolSize();
+        for (int i = 0; i < HikariPoolAutoSizer.SHRINK_AFTER_IDLE_SAMPLES * 4; i++) {
+            sizer.adjust();
+        }
+
+        // Then
+        assertEquals(5, sizeBeforeThreshold);
+        assertEquals(3, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Ajuste - Mantiene el tamaño mientras el pool está en uso")
+    void testKeepsSizeWhenBusy() {
+        // Given
+        doReturn(pool).when(dataSource).getHikariPoolMXBean();
+        when(pool.getThreadsAwaitingConnection()).thenReturn(1, 0);
+        when(pool.getActiveConnections()).thenReturn(4);
+        sizer.adjust();
+
+        // When
+        for (int i = 0; i < HikariPoolAutoSizer.SHRINK_AFTER_IDLE_SAMPLES * 2; i++) {
+            sizer.adjust();
+        }
+
+        // Then
+        assertEquals(4, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Ajuste - Pool sin iniciar no se modifica")
+    void testIgnoresPoolNotStarted() {
+        // Given
+        doReturn(null).when(dataSource).getHikariPoolMXBean();
+
+        // When
+        sizer.adjust();
+
+        // Then
+        assertEquals(3, dataSource.getMaximumPoolSize());
+    }
+}
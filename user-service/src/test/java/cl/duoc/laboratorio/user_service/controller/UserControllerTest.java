@@ -2,9 +2,17 @@ package cl.duoc.laboratorio.user_service.controller;
 
 import cl.duoc.laboratorio.user_service.dto.LoginRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.LoginResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.RoleDTO;
+import cl.duoc.laboratorio.user_service.dto.UserImportEventDTO;
+import cl.duoc.laboratorio.user_service.dto.UserPageDTO;
 import cl.duoc.laboratorio.user_service.dto.UserRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.UserResponseDTO;
+import cl.duoc.laboratorio.user_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.user_service.exception.ResourceNotFoundException;
+import cl.duoc.laboratorio.user_service.exception.TooManyRequestsException;
+import cl.duoc.laboratorio.user_service.exception.UnauthorizedException;
+import cl.duoc.laboratorio.user_service.service.TokenService;
+import cl.duoc.laboratorio.user_service.service.UserImportService;
 import cl.duoc.laboratorio.user_service.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +23,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +52,12 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
     private UserRequestDTO userRequestDTO;
     private UserResponseDTO userResponseDTO;
     private LoginRequestDTO loginRequestDTO;
@@ -59,6 +80,7 @@ class UserControllerTest {
         userResponseDTO.setNombre("Test");
         userResponseDTO.setApellido("User");
         userResponseDTO.setRol("MEDICO");
+        userResponseDTO.setVersion(0L);
 
         // Setup login DTOs
         loginRequestDTO = new LoginRequestDTO();
@@ -109,15 +131,60 @@ class UserControllerTest {
         verify(userService, times(1)).createUser(any(UserRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("GET /api/users/page - Página con cursor siguiente")
+    void testGetUsersPage_Success() throws Exception {
+        // Given
+        UserPageDTO page = new UserPageDTO(List.of(userResponseDTO), "Mg", 1);
+        when(userService.getUsersPage(null, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/users/page").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"))
+                .andExpect(jsonPath("$.size").value(1));
+
+        verify(userService, times(1)).getUsersPage(null, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/users/roles - Listar roles desde memoria")
+    void testGetAllRoles_Success() throws Exception {
+        // Given
+        when(userService.getAllRoles()).thenReturn(List.of(new RoleDTO(1L, "ADMINISTRADOR"), new RoleDTO(2L, "MEDICO")));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/roles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("MEDICO"));
+
+        verify(userService, times(1)).getAllRoles();
+    }
+
+    @Test
+    @DisplayName("POST /api/users/roles/refresh - Recargar registro de roles")
+    void testRefreshRoles_Success() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/roles/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Registro de roles recargado"));
+
+        verify(userService, times(1)).refreshRoles();
+    }
+
     @Test
     @DisplayName("GET /api/users/{id} - Obtener usuario exitoso")
     void testGetUserById_Success() throws Exception {
         // Given
         when(userService.getUserById(1L)).thenReturn(userResponseDTO);
+        when(userService.getUserEtag(1L)).thenReturn(Optional.of("\"1-0\""));
 
         // When & Then
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.nombre").value("Test"))
@@ -126,6 +193,51 @@ class UserControllerTest {
         verify(userService, times(1)).getUserById(1L);
     }
 
+    @Test
+    @DisplayName("GET /api/users/{id} - If-None-Match vigente responde 304 sin cargar el usuario")
+    void testGetUserById_NotModified() throws Exception {
+        // Given
+        when(userService.getUserEtag(1L)).thenReturn(Optional.of("\"1-0\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - If-None-Match obsoleto responde 200")
+    void testGetUserById_EtagChanged() throws Exception {
+        // Given
+        when(userService.getUserEtag(1L)).thenReturn(Optional.of("\"1-1\""));
+        userResponseDTO.setVersion(1L);
+        when(userService.getUserById(1L)).thenReturn(userResponseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - El ETag corresponde a la fila devuelta, no a la consulta de versión")
+    void testGetUserById_EtagFollowsBody() throws Exception {
+        // Given: el usuario se modificó entre la consulta de versión y la lectura del cuerpo
+        when(userService.getUserEtag(1L)).thenReturn(Optional.of("\"1-0\""));
+        userResponseDTO.setVersion(1L);
+        when(userService.getUserById(1L)).thenReturn(userResponseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/users/{id} - Usuario no encontrado (404)")
     void testGetUserById_NotFound() throws Exception {
@@ -150,11 +262,13 @@ class UserControllerTest {
         updatedResponse.setNombre("Updated");
         updatedResponse.setApellido("User");
         updatedResponse.setRol("MEDICO");
+        updatedResponse.setVersion(1L);
 
-        when(userService.updateUser(eq(1L), any(UserRequestDTO.class))).thenReturn(updatedResponse);
+        when(userService.updateUser(eq(1L), any(UserRequestDTO.class), eq(0L))).thenReturn(updatedResponse);
 
         // When & Then
         mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"1-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userRequestDTO)))
                 .andExpect(status().isOk())
@@ -162,23 +276,74 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.nombre").value("Updated"))
                 .andExpect(jsonPath("$.apellido").value("User"));
 
-        verify(userService, times(1)).updateUser(eq(1L), any(UserRequestDTO.class));
+        verify(userService, times(1)).updateUser(eq(1L), any(UserRequestDTO.class), eq(0L));
     }
 
     @Test
     @DisplayName("PUT /api/users/{id} - Usuario no encontrado (404)")
     void testUpdateUser_NotFound() throws Exception {
         // Given
-        when(userService.updateUser(eq(999L), any(UserRequestDTO.class)))
+        when(userService.updateUser(eq(999L), any(UserRequestDTO.class), eq(0L)))
             .thenThrow(new ResourceNotFoundException("Usuario no encontrado con ID: 999"));
 
         // When & Then
         mockMvc.perform(put("/api/users/999")
+                .header("If-Match", "\"999-0\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userRequestDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(userService, times(1)).updateUser(eq(999L), any(UserRequestDTO.class));
+        verify(userService, times(1)).updateUser(eq(999L), any(UserRequestDTO.class), eq(0L));
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{id} - If-Match vigente devuelve el nuevo ETag")
+    void testUpdateUser_IfMatch() throws Exception {
+        // Given
+        userResponseDTO.setVersion(1L);
+        when(userService.updateUser(eq(1L), any(UserRequestDTO.class), eq(0L))).thenReturn(userResponseDTO);
+
+        // When & Then
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"1-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{id} - Versión obsoleta (412)")
+    void testUpdateUser_PreconditionFailed() throws Exception {
+        // Given
+        when(userService.updateUser(eq(1L), any(UserRequestDTO.class), eq(0L)))
+            .thenThrow(new PreconditionFailedException("El usuario 1 fue modificado: la versión no coincide con If-Match"));
+
+        // When & Then
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"1-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequestDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{id} - Sin If-Match no sobrescribe una versión más nueva (428)")
+    void testUpdateUser_WithoutIfMatch() throws Exception {
+        // When & Then: ni sin encabezado ni con "*" llega a ejecutarse el UPDATE
+        mockMvc.perform(put("/api/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequestDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status").value(428));
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequestDTO)))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(userService, never()).updateUser(anyLong(), any(UserRequestDTO.class), anyLong());
     }
 
     @Test
@@ -244,6 +409,51 @@ class UserControllerTest {
         verify(userService, times(1)).login(any(LoginRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("POST /api/users/auth/login - Verificador saturado (429)")
+    void testLogin_TooManyRequests() throws Exception {
+        // Given
+        when(userService.login(any(LoginRequestDTO.class)))
+            .thenThrow(new TooManyRequestsException("Demasiados inicios de sesión simultáneos, intente nuevamente", 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/users/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        verify(userService, times(1)).login(any(LoginRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/auth/logout - Revoca el token")
+    void testLogout_Success() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/auth/logout")
+                .header("Authorization", "Bearer payload.firma"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Sesión cerrada correctamente"));
+
+        verify(tokenService, times(1)).revoke("payload.firma");
+    }
+
+    @Test
+    @DisplayName("POST /api/users/auth/logout - Sin token o token inválido (401)")
+    void testLogout_InvalidToken() throws Exception {
+        // Given
+        doThrow(new UnauthorizedException("Token inválido")).when(tokenService).revoke("manipulado");
+
+        // When & Then
+        mockMvc.perform(post("/api/users/auth/logout"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/users/auth/logout")
+                .header("Authorization", "Bearer manipulado"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Token inválido"));
+    }
+
     @Test
     @DisplayName("POST /api/users/auth/login - Usuario no encontrado (404)")
     void testLogin_UserNotFound() throws Exception {
@@ -259,4 +469,74 @@ class UserControllerTest {
 
         verify(userService, times(1)).login(any(LoginRequestDTO.class));
     }
+
+    @Test
+    @DisplayName("POST /api/users/import - Eventos NDJSON en orden")
+    @SuppressWarnings("unchecked")
+    void testImportUsers_StreamsEvents() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<UserImportEventDTO> listener = invocation.getArgument(2);
+            listener.accept(UserImportEventDTO.error(3L, "malo", "El email debe ser válido"));
+            listener.accept(UserImportEventDTO.progress(2L, 1L, 1L));
+            UserImportEventDTO summary = UserImportEventDTO.summary(2L, 1L, 1L);
+            listener.accept(summary);
+            return summary;
+        }).when(userImportService).importUsers(any(InputStream.class), any(MediaType.class), any(Consumer.class));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content("email,password,nombre,apellido,rol\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(3L, objectMapper.readValue(lines[0], UserImportEventDTO.class).getLine());
+        assertEquals("progress", objectMapper.readValue(lines[1], UserImportEventDTO.class).getType());
+        assertEquals(1L, objectMapper.readValue(lines[2], UserImportEventDTO.class).getInserted());
+        assertFalse(lines[1].contains("\"line\""));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/import - Archivo inválido se informa como evento de error")
+    @SuppressWarnings("unchecked")
+    void testImportUsers_InvalidFile() throws Exception {
+        // Given
+        when(userImportService.importUsers(any(InputStream.class), any(MediaType.class), any(Consumer.class)))
+            .thenThrow(new IllegalArgumentException("El CSV debe tener las columnas: email,password,nombre,apellido,rol"));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content("email\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        UserImportEventDTO event = objectMapper.readValue(body.trim(), UserImportEventDTO.class);
+        assertEquals("error", event.getType());
+        assertTrue(event.getMessage().startsWith("El CSV debe tener las columnas"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/import - Content-Type no soportado (415)")
+    void testImportUsers_UnsupportedMediaType() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/users/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(userImportService);
+    }
 }
@@ -0,0 +1,92 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para EmailBloomFilter
+ * Cobertura: carga inicial, altas posteriores, tasa de falsos positivos y estado previo a la carga
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private EmailBloomFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        emailFilter = new EmailBloomFilter(userRepository, 10_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Antes de la carga - Todo email puede existir")
+    void testMightContain_BeforeRebuild() {
+        // When & Then
+        assertFalse(emailFilter.isReady());
+        assertTrue(emailFilter.mightContain("cualquiera@example.com"));
+    }
+
+    @Test
+    @DisplayName("Reconstruir - Sin falsos negativos para emails cargados y agregados")
+    void testRebuild_NoFalseNegatives() {
+        // Given
+        when(userRepository.count()).thenReturn(5_000L);
+        when(userRepository.streamAllEmails())
+            .thenReturn(IntStream.range(0, 5_000).mapToObj(i -> "paciente" + i + "@example.com"));
+
+        // When
+        emailFilter.rebuild();
+        emailFilter.add("nuevo@example.com");
+
+        // Then
+        assertTrue(emailFilter.isReady());
+        IntStream.range(0, 5_000).forEach(i -> assertTrue(emailFilter.mightContain("paciente" + i + "@example.com")));
+        assertTrue(emailFilter.mightContain("nuevo@example.com"));
+    }
+
+    @Test
+    @DisplayName("Reconstruir - Falsos positivos cerca de la tasa configurada")
+    void testRebuild_FalsePositiveRate() {
+        // Given
+        when(userRepository.count()).thenReturn(5_000L);
+        when(userRepository.streamAllEmails())
+            .thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "paciente" + i + "@example.com"));
+        emailFilter.rebuild();
+
+        // When
+        long falsePositives = IntStream.range(0, 20_000)
+            .filter(i -> emailFilter.mightContain("otro" + i + "@example.com"))
+            .count();
+
+        // Then
+        assertTrue(falsePositives < 20_000 * 0.02, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Reconstruir - Capacidad crece con la tabla")
+    void testRebuild_SizesFromTableCount() {
+        // Given
+        when(userRepository.count()).thenReturn(50_000L);
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+
+        // When
+        emailFilter.rebuild();
+
+        // Then
+        assertFalse(emailFilter.mightContain("test@example.com"));
+        verify(userRepository, times(1)).streamAllEmails();
+    }
+}
@@ -0,0 +1,97 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para PasswordVerifier
+ * Cobertura: delegación al encoder + rechazo por saturación y por espera excesiva
+ */
+@ExtendWith(MockitoExtension.class)
+class PasswordVerifierTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordVerifier passwordVerifier;
+
+    @AfterEach
+    void tearDown() {
+        passwordVerifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verificar - Delega en el encoder")
+    void testMatches_DelegatesToEncoder() {
+        // Given
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 2, 4, Duration.ofSeconds(5));
+        when(passwordEncoder.matches("password123", "hash")).thenReturn(true);
+        when(passwordEncoder.matches("wrongpassword", "hash")).thenReturn(false);
+
+        // When & Then
+        assertTrue(passwordVerifier.matches("password123", "hash"));
+        assertFalse(passwordVerifier.matches("wrongpassword", "hash"));
+    }
+
+    @Test
+    @DisplayName("Verificar - Pool y cola llenos responde 429")
+    void testMatches_RejectsWhenSaturated() throws Exception {
+        // Given
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches("password123", "hash")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordVerifier.matches("password123", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordVerifier.matches("password123", "hash"));
+        while (passwordVerifier.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        TooManyRequestsException exception = assertThrows(
+            TooManyRequestsException.class,
+            () -> passwordVerifier.matches("password123", "hash")
+        );
+
+        // Then
+        assertEquals(1, exception.getRetryAfterSeconds());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Verificar - Espera mayor al timeout responde 429")
+    void testMatches_TimesOut() throws Exception {
+        // Given
+        passwordVerifier = new PasswordVerifier(passwordEncoder, 1, 1, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches("password123", "hash")).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+
+        // When & Then
+        assertThrows(TooManyRequestsException.class, () -> passwordVerifier.matches("password123", "hash"));
+        release.countDown();
+    }
+}
@@ -0,0 +1,79 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.dto.RoleDTO;
+import cl.duoc.laboratorio.user_service.model.Role;
+import cl.duoc.laboratorio.user_service.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para RoleRegistry
+ * Cobertura: precarga, búsqueda sin SQL, copias desacopladas y recarga
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    @Test
+    @DisplayName("Buscar por nombre - Una sola carga para varias búsquedas")
+    void testFindByName_LoadsOnce() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ADMINISTRADOR"), new Role(3L, "PACIENTE")));
+
+        // When
+        Role paciente = roleRegistry.findByName("PACIENTE").orElseThrow();
+        Role admin = roleRegistry.findByName("ADMINISTRADOR").orElseThrow();
+
+        // Then
+        assertEquals(3L, paciente.getId());
+        assertEquals(1L, admin.getId());
+        assertTrue(roleRegistry.findByName("INEXISTENTE").isEmpty());
+        assertTrue(roleRegistry.findByName(null).isEmpty());
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Buscar por nombre - Modificar la copia no altera el registro")
+    void testFindByName_ReturnsCopies() {
+        // Given
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(2L, "MEDICO")));
+
+        // When
+        roleRegistry.findByName("MEDICO").orElseThrow().setName("ALTERADO");
+
+        // Then
+        assertEquals("MEDICO", roleRegistry.findByName("MEDICO").orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Recargar - Reemplaza la foto completa")
+    void testRefresh_ReplacesSnapshot() {
+        // Given
+        when(roleRepository.findAll())
+            .thenReturn(List.of(new Role(2L, "MEDICO")))
+            .thenReturn(List.of(new Role(2L, "MEDICO"), new Role(4L, "LABORATORISTA")));
+        roleRegistry.refresh();
+
+        // When
+        roleRegistry.refresh();
+        List<RoleDTO> roles = roleRegistry.getAllRoles();
+
+        // Then
+        assertEquals(List.of(new RoleDTO(2L, "MEDICO"), new RoleDTO(4L, "LABORATORISTA")), roles);
+        verify(roleRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,103 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.exception.UnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TokenService
+ * Cobertura: emisión + validación de firma y expiración + revocación
+ */
+class TokenServiceTest {
+
+    private static final String SECRET = "secreto-de-pruebas-con-al-menos-32-bytes";
+    private static final Instant NOW = Instant.parse("2024-01-15T10:00:00Z");
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Emitir y validar - Recupera los datos del usuario")
+    void testIssueAndVerify_Success() {
+        // Given
+        TokenService.IssuedToken issued = tokenService.issue(1L, "test|user@example.com", "MEDICO");
+
+        // When
+        TokenService.TokenClaims claims = tokenService.verify(issued.token());
+
+        // Then
+        assertEquals(1L, claims.userId());
+        assertEquals("test|user@example.com", claims.email());
+        assertEquals("MEDICO", claims.role());
+        assertEquals(NOW.plus(Duration.ofHours(1)), claims.expiresAt());
+        assertEquals(issued.expiresAt(), claims.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Validar - Firma alterada o de otro secreto")
+    void testVerify_InvalidSignature() {
+        // Given
+        String token = tokenService.issue(1L, "test@example.com", "MEDICO").token();
+        String otherSecretToken = new TokenService("otro-secreto-de-pruebas-de-32-bytes!!", Duration.ofHours(1),
+            Clock.fixed(NOW, ZoneOffset.UTC)).issue(1L, "test@example.com", "ADMINISTRADOR").token();
+        String forgedPayload = otherSecretToken.substring(0, otherSecretToken.indexOf('.'))
+            + token.substring(token.indexOf('.'));
+
+        // When & Then
+        assertThrows(UnauthorizedException.class, () -> tokenService.verify(otherSecretToken));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verify(forgedPayload));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verify("sin-separador"));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verify("%%%.%%%"));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verify(null));
+    }
+
+    @Test
+    @DisplayName("Validar - Token expirado")
+    void testVerify_Expired() {
+        // Given
+        String token = tokenService.issue(1L, "test@example.com", "MEDICO").token();
+        TokenService later = new TokenService(SECRET, Duration.ofHours(1),
+            Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+
+        // When & Then
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> later.verify(token));
+        assertEquals("Token expirado", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Revocar - El token deja de ser válido")
+    void testRevoke_Success() {
+        // Given
+        String token = tokenService.issue(1L, "test@example.com", "MEDICO").token();
+        String otherToken = tokenService.issue(1L, "test@example.com", "MEDICO").token();
+
+        // When
+        tokenService.revoke(token);
+
+        // Then
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> tokenService.verify(token));
+        assertEquals("Token revocado", exception.getMessage());
+        assertNotNull(tokenService.verify(otherToken));
+        assertEquals(1, tokenService.getRevokedCount());
+    }
+
+    @Test
+    @DisplayName("Secreto - Menor a 32 bytes se rechaza")
+    void testSecret_TooShort() {
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> new TokenService("corto", Duration.ofHours(1), Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,113 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.dto.UserImportEventDTO;
+import cl.duoc.laboratorio.user_service.model.User;
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de UserImportService contra H2: la violación de UNIQUE(EMAIL) aparece recién en el
+ * flush de Hibernate, igual que en Oracle, y no en saveAll.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+// Cada bloque confirma su propia transacción, como en la aplicación
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceJpaTest {
+
+    private static final MediaType CSV = MediaType.valueOf("text/csv");
+    private static final String HEADER = "email,password,nombre,apellido,rol\n";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EmailBloomFilter emailFilter;
+    private UserImportService importService;
+    private List<UserImportEventDTO> events;
+
+    @BeforeEach
+    void setUp() {
+        RoleRegistry roleRegistry = mock(RoleRegistry.class);
+        when(roleRegistry.findByName(anyString())).thenReturn(Optional.empty());
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+        // El filtro no conoce el email existente (por ejemplo, lo insertó otra instancia): no hay consulta previa
+        emailFilter = mock(EmailBloomFilter.class);
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+
+        importService = new UserImportService(userRepository, roleRegistry, emailFilter, passwordEncoder,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+            entityManager, transactionManager, 2);
+        events = new ArrayList<>();
+
+        User existing = new User();
+        existing.setEmail("ana@example.com");
+        existing.setPasswordHash("hash");
+        existing.setFullName("Ana Existente");
+        userRepository.saveAndFlush(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Importar - Email existente que falla en el flush se reintenta fila por fila y solo rechaza esa fila")
+    void testImportUsers_FlushFailsForExistingEmail() {
+        // Given: el primer bloque trae el email existente; el segundo bloque es válido
+        StringBuilder csv = new StringBuilder(HEADER).append("ana@example.com,secreto1,Ana,Pérez,PACIENTE\n");
+        for (int i = 1; i <= UserImportService.CHUNK_SIZE; i++) {
+            csv.append("user").append(i).append("@example.com,secreto1,Nombre,Apellido,PACIENTE\n");
+        }
+
+        // When
+        UserImportEventDTO summary = importService.importUsers(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), CSV, events::add);
+
+        // Then: el bloque se revierte, sus filas se insertan de a una y solo falla la del email existente
+        assertEquals(UserImportService.CHUNK_SIZE + 1L, summary.getProcessed());
+        assertEquals((long) UserImportService.CHUNK_SIZE, summary.getInserted());
+        assertEquals(1L, summary.getFailed());
+        assertEquals("ana@example.com", events.get(0).getEmail());
+        assertEquals("Ya existe un usuario con el email: ana@example.com", events.get(0).getMessage());
+        assertEquals(UserImportService.CHUNK_SIZE + 1L, userRepository.count());
+        assertTrue(userRepository.existsByEmail("user500@example.com"));
+        assertTrue(userRepository.existsByEmail("user1@example.com"));
+        verify(emailFilter).add("user500@example.com");
+        verify(emailFilter).add("user1@example.com");
+        verify(emailFilter, never()).add("ana@example.com");
+    }
+}
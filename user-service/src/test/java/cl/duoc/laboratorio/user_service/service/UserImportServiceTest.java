@@ -0,0 +1,211 @@
+package cl.duoc.laboratorio.user_service.service;
+
+import cl.duoc.laboratorio.user_service.dto.UserImportEventDTO;
+import cl.duoc.laboratorio.user_service.model.Role;
+import cl.duoc.laboratorio.user_service.model.User;
+import cl.duoc.laboratorio.user_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para UserImportService
+ * Cobertura: CSV y NDJSON, validación por fila, duplicados en archivo y en base y bloques (los errores de inserción en UserImportServiceJpaTest)
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final MediaType CSV = MediaType.valueOf("text/csv");
+    private static final String HEADER = "email,password,nombre,apellido,rol\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private EmailBloomFilter emailFilter;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportService importService;
+    private List<UserImportEventDTO> events;
+    private Role paciente;
+
+    @BeforeEach
+    void setUp() {
+        importService = new UserImportService(userRepository, roleRegistry, emailFilter, passwordEncoder,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+            entityManager, transactionManager, 2);
+        events = new ArrayList<>();
+        paciente = new Role(1L, "PACIENTE");
+        lenient().when(roleRegistry.findByName(anyString())).thenReturn(Optional.empty());
+        lenient().when(roleRegistry.findByName("PACIENTE")).thenReturn(Optional.of(paciente));
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Importar CSV - Inserta las filas válidas con contraseña hasheada")
+    @SuppressWarnings("unchecked")
+    void testImportUsers_Csv() {
+        // Given
+        String csv = HEADER
+            + "ana@example.com,secreto1,Ana,Pérez,PACIENTE\n"
+            + "\"luis@example.com\",secreto2,\"Luis, Jr.\",Soto,MEDICO\n";
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+
+        // When
+        UserImportEventDTO summary = importService.importUsers(stream(csv), CSV, events::add);
+
+        // Then
+        assertEquals(2L, summary.getProcessed());
+        assertEquals(2L, summary.getInserted());
+        assertEquals(0L, summary.getFailed());
+        verify(userRepository).saveAllAndFlush(captor.capture());
+        List<User> saved = captor.getValue();
+        assertEquals("hash-secreto1", saved.get(0).getPasswordHash());
+        assertEquals("Luis, Jr. Soto", saved.get(1).getFullName());
+        // Rol desconocido se asigna como PACIENTE, igual que en createUser
+        assertEquals(Set.of(paciente), saved.get(1).getRoles());
+        verify(userRepository, never()).findExistingEmails(any());
+        verify(entityManager).clear();
+        verify(emailFilter).add("ana@example.com");
+        verify(emailFilter).add("luis@example.com");
+        assertEquals(List.of("progress", "summary"), types());
+    }
+
+    @Test
+    @DisplayName("Importar NDJSON - Rechaza filas inválidas y repetidas con su número de línea")
+    void testImportUsers_NdjsonRowErrors() {
+        // Given
+        String ndjson = user("ana@example.com") + "\n"
+            + "{no es json\n"
+            + "\n"
+            + "{\"email\":\"malo\",\"password\":\"123\",\"nombre\":\"X\",\"apellido\":\"Y\",\"rol\":\"PACIENTE\"}\n"
+            + user("ana@example.com") + "\n";
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+
+        // When
+        UserImportEventDTO summary = importService.importUsers(stream(ndjson), MediaType.APPLICATION_NDJSON, events::add);
+
+        // Then
+        assertEquals(4L, summary.getProcessed());
+        assertEquals(1L, summary.getInserted());
+        assertEquals(3L, summary.getFailed());
+        List<UserImportEventDTO> errors = events.stream().filter(e -> "error".equals(e.getType())).toList();
+        assertEquals(List.of(2L, 4L, 5L), errors.stream().map(UserImportEventDTO::getLine).toList());
+        assertEquals("Fila con formato inválido", errors.get(0).getMessage());
+        assertTrue(errors.get(1).getMessage().contains("El email debe ser válido"));
+        assertTrue(errors.get(1).getMessage().contains("al menos 6 caracteres"));
+        assertEquals("Email repetido en el archivo", errors.get(2).getMessage());
+    }
+
+    @Test
+    @DisplayName("Importar - Emails existentes se descartan con una consulta por bloque")
+    @SuppressWarnings("unchecked")
+    void testImportUsers_ExistingEmailsOneQueryPerChunk() {
+        // Given
+        int rows = UserImportService.CHUNK_SIZE + 10;
+        String csv = HEADER + IntStream.range(0, rows)
+            .mapToObj(i -> "paciente" + i + "@example.com,secreto,Nombre,Apellido,PACIENTE")
+            .collect(Collectors.joining("\n"));
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+        when(userRepository.findExistingEmails(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            return emails.contains("paciente3@example.com") ? List.of("paciente3@example.com") : List.of();
+        });
+
+        // When
+        UserImportEventDTO summary = importService.importUsers(stream(csv), CSV, events::add);
+
+        // Then
+        assertEquals((long) rows, summary.getProcessed());
+        assertEquals((long) rows - 1, summary.getInserted());
+        assertEquals(1L, summary.getFailed());
+        verify(userRepository, times(2)).findExistingEmails(anyCollection());
+        verify(userRepository, times(2)).saveAllAndFlush(anyList());
+        verify(passwordEncoder, times(rows - 1)).encode(anyString());
+        assertEquals(List.of("error", "progress", "progress", "summary"), types());
+        assertEquals(5L, events.get(0).getLine());
+    }
+
+    @Test
+    @DisplayName("Importar CSV - Encabezado incompleto")
+    void testImportUsers_InvalidHeader() {
+        // Given
+        String csv = "email,password\nana@example.com,secreto1\n";
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> importService.importUsers(stream(csv), CSV, events::add));
+        assertTrue(exception.getMessage().contains("email,password,nombre,apellido,rol"));
+        verify(userRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    @DisplayName("Importar - Formato no soportado")
+    void testImportUsers_UnsupportedFormat() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> importService.importUsers(stream(""), MediaType.APPLICATION_JSON, events::add));
+    }
+
+    @Test
+    @DisplayName("Parsear CSV - Comillas escapadas y campos vacíos")
+    void testParseCsvLine() {
+        // When & Then
+        assertEquals(List.of("a", "b \"c\"", "", "d,e"), UserImportService.parseCsvLine("a,\"b \"\"c\"\"\",,\"d,e\""));
+        assertThrows(IllegalArgumentException.class, () -> UserImportService.parseCsvLine("\"abierta"));
+    }
+
+    private List<String> types() {
+        return events.stream().map(UserImportEventDTO::getType).toList();
+    }
+
+    private static String user(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"secreto1\",\"nombre\":\"Ana\",\"apellido\":\"Pérez\",\"rol\":\"PACIENTE\"}";
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
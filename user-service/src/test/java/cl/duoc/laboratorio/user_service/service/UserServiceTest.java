@@ -2,12 +2,15 @@ package cl.duoc.laboratorio.user_service.service;
 
 import cl.duoc.laboratorio.user_service.dto.LoginRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.LoginResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.UserPageDTO;
 import cl.duoc.laboratorio.user_service.dto.UserRequestDTO;
 import cl.duoc.laboratorio.user_service.dto.UserResponseDTO;
+import cl.duoc.laboratorio.user_service.dto.UserRowDTO;
+import cl.duoc.laboratorio.user_service.exception.PreconditionFailedException;
 import cl.duoc.laboratorio.user_service.exception.ResourceNotFoundException;
+import cl.duoc.laboratorio.user_service.exception.TooManyRequestsException;
 import cl.duoc.laboratorio.user_service.model.Role;
 import cl.duoc.laboratorio.user_service.model.User;
-import cl.duoc.laboratorio.user_service.repository.RoleRepository;
 import cl.duoc.laboratorio.user_service.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,9 +19,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -37,11 +44,20 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordVerifier passwordVerifier;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private EmailBloomFilter emailFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -79,10 +95,11 @@ class UserServiceTest {
     @DisplayName("Crear usuario - Exitoso")
     void testCreateUser_Success() {
         // Given
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(roleRepository.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
         when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword123");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         UserResponseDTO result = userService.createUser(userRequestDTO);
@@ -93,13 +110,14 @@ class UserServiceTest {
         assertEquals("Test", result.getNombre());
         assertEquals("User", result.getApellido());
         assertEquals("MEDICO", result.getRol());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Crear usuario - Email duplicado")
     void testCreateUser_EmailAlreadyExists() {
         // Given
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
         when(userRepository.existsByEmail(anyString())).thenReturn(true);
 
         // When & Then
@@ -108,16 +126,54 @@ class UserServiceTest {
             () -> userService.createUser(userRequestDTO)
         );
         assertTrue(exception.getMessage().contains("Ya existe un usuario con el email"));
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Crear usuario - Filtro descarta el email sin consultar la BD")
+    void testCreateUser_FilterSkipsExistsQuery() {
+        // Given
+        when(emailFilter.mightContain("test@example.com")).thenReturn(false);
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword123");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
+
+        // When
+        UserResponseDTO result = userService.createUser(userRequestDTO);
+
+        // Then
+        assertEquals("test@example.com", result.getEmail());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(emailFilter, times(1)).add("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Crear usuario - UNIQUE de EMAIL como garantía final")
+    void testCreateUser_UniqueConstraintViolation() {
+        // Given
+        when(emailFilter.mightContain("test@example.com")).thenReturn(false);
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword123");
+        when(userRepository.saveAndFlush(any(User.class)))
+            .thenThrow(new DataIntegrityViolationException("ORA-00001: restricción única violada"));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> userService.createUser(userRequestDTO)
+        );
+        assertEquals("Ya existe un usuario con el email: test@example.com", exception.getMessage());
+        verify(emailFilter, never()).add(anyString());
     }
 
     @Test
     @DisplayName("Crear usuario - Rol no encontrado")
     void testCreateUser_RoleNotFound() {
         // Given
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(roleRepository.findByName("MEDICO")).thenReturn(Optional.empty());
-        when(roleRepository.findByName("PACIENTE")).thenReturn(Optional.empty());
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.empty());
+        when(roleRegistry.findByName("PACIENTE")).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -160,45 +216,111 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Actualizar usuario - Exitoso")
+    @DisplayName("ETag de usuario - Solo consulta la versión")
+    void testGetUserEtag() {
+        // Given
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+        when(userRepository.findVersionById(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(Optional.of("\"1-4\""), userService.getUserEtag(1L));
+        assertEquals(Optional.empty(), userService.getUserEtag(2L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Actualizar usuario - Exitoso sin SELECT previo")
     void testUpdateUser_Success() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roleRepository.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
         when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.updateProfile(1L, "test@example.com", "Test User", "newHashedPassword", 0L)).thenReturn(1);
+        when(userRepository.deleteOtherRoles(1L, 1L)).thenReturn(0);
 
         // When
-        UserResponseDTO result = userService.updateUser(1L, userRequestDTO);
+        UserResponseDTO result = userService.updateUser(1L, userRequestDTO, 0L);
 
         // Then
         assertNotNull(result);
-        verify(userRepository, times(1)).save(any(User.class));
+        assertEquals(1L, result.getId());
+        assertEquals("Test", result.getNombre());
+        assertEquals("MEDICO", result.getRol());
+        // El rol no cambió: el INSERT se ejecuta igual y no inserta nada por su "not exists"
+        verify(userRepository).insertRoleIfMissing(1L, 1L);
+        verify(userRepository, never()).findById(anyLong());
+        verify(emailFilter).add("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Actualizar usuario - Cambio de rol")
+    void testUpdateUser_RoleChanged() {
+        // Given
+        Role paciente = new Role(3L, "PACIENTE");
+        userRequestDTO.setRol("PACIENTE");
+        when(roleRegistry.findByName("PACIENTE")).thenReturn(Optional.of(paciente));
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        when(userRepository.updateProfile(eq(1L), anyString(), anyString(), anyString(), eq(0L))).thenReturn(1);
+        when(userRepository.deleteOtherRoles(1L, 3L)).thenReturn(1);
+
+        // When
+        UserResponseDTO result = userService.updateUser(1L, userRequestDTO, 0L);
+
+        // Then
+        assertEquals("PACIENTE", result.getRol());
+        verify(userRepository).insertRoleIfMissing(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Actualizar usuario - Usuario sin rol previo recibe el rol")
+    void testUpdateUser_UserWithoutRole() {
+        // Given: el usuario no tiene filas en USER_ROLES, así que el DELETE no borra nada
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        when(userRepository.updateProfile(eq(1L), anyString(), anyString(), anyString(), eq(0L))).thenReturn(1);
+        when(userRepository.deleteOtherRoles(1L, 1L)).thenReturn(0);
+        when(userRepository.insertRoleIfMissing(1L, 1L)).thenReturn(1);
+
+        // When
+        UserResponseDTO result = userService.updateUser(1L, userRequestDTO, 0L);
+
+        // Then
+        assertEquals("MEDICO", result.getRol());
+        verify(userRepository).insertRoleIfMissing(1L, 1L);
     }
 
     @Test
     @DisplayName("Actualizar usuario - No encontrado")
     void testUpdateUser_NotFound() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        when(userRepository.updateProfile(eq(1L), anyString(), anyString(), anyString(), eq(0L))).thenReturn(0);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
             ResourceNotFoundException.class,
-            () -> userService.updateUser(1L, userRequestDTO)
+            () -> userService.updateUser(1L, userRequestDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Usuario no encontrado"));
+        verify(userRepository, never()).deleteOtherRoles(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Actualizar usuario - Versión de If-Match obsoleta")
+    void testUpdateUser_VersionMismatch() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        when(userRepository.updateProfile(eq(1L), anyString(), anyString(), anyString(), eq(2L))).thenReturn(0);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(1L, userRequestDTO, 2L));
+        verify(userRepository, never()).deleteOtherRoles(anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("Actualizar usuario - Email duplicado")
     void testUpdateUser_EmailAlreadyExists() {
         // Given
-        User existingUser = new User();
-        existingUser.setId(1L);
-        existingUser.setEmail("old@example.com");
-        existingUser.setFullName("Old Name");
-
         UserRequestDTO updateDTO = new UserRequestDTO();
         updateDTO.setEmail("new@example.com");
         updateDTO.setPassword("password");
@@ -206,15 +328,17 @@ class UserServiceTest {
         updateDTO.setApellido("Name");
         updateDTO.setRol("MEDICO");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByEmail("new@example.com")).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        when(userRepository.updateProfile(eq(1L), eq("new@example.com"), anyString(), anyString(), eq(0L)))
+            .thenThrow(new DataIntegrityViolationException("UK_USERS_EMAIL"));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> userService.updateUser(1L, updateDTO)
+            () -> userService.updateUser(1L, updateDTO, 0L)
         );
         assertTrue(exception.getMessage().contains("Ya existe un usuario con el email"));
+        verify(emailFilter, never()).add(anyString());
     }
 
     @Test
@@ -246,6 +370,58 @@ class UserServiceTest {
         verify(userRepository, never()).deleteById(anyLong());
     }
 
+    @Test
+    @DisplayName("Listar usuarios - Una sola consulta con el rol unido")
+    void testGetAllUsers_SingleQuery() {
+        // Given
+        when(userRepository.findAllRows()).thenReturn(List.of(
+            new UserRowDTO(1L, "test@example.com", "Test User", "MEDICO", 0L),
+            new UserRowDTO(2L, "sinrol@example.com", "Sin Rol", null, 0L)));
+
+        // When
+        List<UserResponseDTO> result = userService.getAllUsers();
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Test", result.get(0).getNombre());
+        assertEquals("User", result.get(0).getApellido());
+        assertEquals("MEDICO", result.get(0).getRol());
+        assertEquals("PACIENTE", result.get(1).getRol());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Listar usuarios paginado - Cursor a la página siguiente")
+    void testGetUsersPage_WithNextCursor() {
+        // Given
+        when(userRepository.findRowsAfterId(0L, Limit.of(3))).thenReturn(List.of(
+            new UserRowDTO(1L, "a@example.com", "Ana Uno", "MEDICO", 0L),
+            new UserRowDTO(2L, "b@example.com", "Beto Dos", "PACIENTE", 0L),
+            new UserRowDTO(3L, "c@example.com", "Carla Tres", "PACIENTE", 0L)));
+        when(userRepository.findRowsAfterId(2L, Limit.of(3))).thenReturn(List.of(
+            new UserRowDTO(3L, "c@example.com", "Carla Tres", "PACIENTE", 0L)));
+
+        // When
+        UserPageDTO first = userService.getUsersPage(null, 2);
+        UserPageDTO second = userService.getUsersPage(first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getItems().size());
+        assertEquals(3L, second.getItems().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Listar usuarios paginado - Tamaño o cursor inválido")
+    void testGetUsersPage_InvalidParameters() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage("no-es-cursor!", 10));
+        verify(userRepository, never()).findRowsAfterId(anyLong(), any(Limit.class));
+    }
+
     @Test
     @DisplayName("Login - Exitoso")
     void testLogin_Success() {
@@ -255,7 +431,10 @@ class UserServiceTest {
         loginRequest.setPassword("password123");
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("password123", "hashedPassword123")).thenReturn(true);
+        when(passwordVerifier.matches("password123", "hashedPassword123")).thenReturn(true);
+        Instant expiresAt = Instant.parse("2024-01-15T11:00:00Z");
+        when(tokenService.issue(1L, "test@example.com", "MEDICO"))
+            .thenReturn(new TokenService.IssuedToken("payload.firma", expiresAt));
 
         // When
         LoginResponseDTO result = userService.login(loginRequest);
@@ -267,6 +446,8 @@ class UserServiceTest {
         assertEquals("User", result.getApellido());
         assertEquals("MEDICO", result.getRol());
         assertEquals("Inicio de sesión exitoso", result.getMessage());
+        assertEquals("payload.firma", result.getToken());
+        assertEquals(expiresAt, result.getExpiresAt());
     }
 
     @Test
@@ -296,7 +477,7 @@ class UserServiceTest {
         loginRequest.setPassword("wrongpassword");
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", "hashedPassword123")).thenReturn(false);
+        when(passwordVerifier.matches("wrongpassword", "hashedPassword123")).thenReturn(false);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -304,6 +485,24 @@ class UserServiceTest {
             () -> userService.login(loginRequest)
         );
         assertTrue(exception.getMessage().contains("Credenciales inválidas"));
+        verify(tokenService, never()).issue(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Login - Verificador saturado")
+    void testLogin_VerifierSaturated() {
+        // Given
+        LoginRequestDTO loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword("password123");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordVerifier.matches("password123", "hashedPassword123"))
+            .thenThrow(new TooManyRequestsException("Demasiados inicios de sesión simultáneos, intente nuevamente", 1));
+
+        // When & Then
+        assertThrows(TooManyRequestsException.class, () -> userService.login(loginRequest));
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
     @Test
@@ -322,9 +521,11 @@ class UserServiceTest {
         userWithoutRoles.setEmail("test@example.com");
         userWithoutRoles.setFullName("Test User");
 
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword123");
-        when(userRepository.save(any(User.class))).thenReturn(userWithoutRoles);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(userWithoutRoles);
 
         // When
         UserResponseDTO result = userService.createUser(dtoWithoutRoles);
@@ -345,12 +546,11 @@ class UserServiceTest {
         updateDTO.setApellido("Name");
         updateDTO.setRol("MEDICO");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(roleRepository.findByName("MEDICO")).thenReturn(Optional.of(testRole));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(roleRegistry.findByName("MEDICO")).thenReturn(Optional.of(testRole));
+        when(userRepository.updateProfile(1L, "test@example.com", "Updated Name", null, 0L)).thenReturn(1);
 
         // When
-        UserResponseDTO result = userService.updateUser(1L, updateDTO);
+        UserResponseDTO result = userService.updateUser(1L, updateDTO, 0L);
 
         // Then
         assertNotNull(result);